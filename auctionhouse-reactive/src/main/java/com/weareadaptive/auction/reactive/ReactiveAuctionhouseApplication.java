@@ -0,0 +1,13 @@
+package com.weareadaptive.auction.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveAuctionhouseApplication {
+
+  public static void main(String[] args) {
+    SpringApplication.run(ReactiveAuctionhouseApplication.class, args);
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.weareadaptive.auction.reactive.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weareadaptive.auction.controller.dto.AllocationResponse;
+import com.weareadaptive.auction.controller.dto.AuctionBidRequest;
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidRequest;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
+import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.BidOrder;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.reactive.service.AuctionEvent;
+import com.weareadaptive.auction.reactive.service.ClosedAuctionSummary;
+import com.weareadaptive.auction.reactive.service.ReactiveAuctionLotService;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import javax.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/auctions")
+@Validated
+public class ReactiveAuctionController {
+  public static final String NEXT_CURSOR = "X-Next-Cursor";
+  private static final int BIDS_PER_WRITE = 256;
+  private static final ServerSentEvent<Object> SUBSCRIBED =
+      ServerSentEvent.builder().comment("subscribed").build();
+  private final ReactiveAuctionLotService auctionLotService;
+  private final ObjectMapper objectMapper;
+
+  public ReactiveAuctionController(ReactiveAuctionLotService auctionLotService,
+                                   ObjectMapper objectMapper) {
+    this.auctionLotService = auctionLotService;
+    this.objectMapper = objectMapper;
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<AuctionResponse> create(
+      @RequestBody @Valid CreateAuctionRequest createAuctionRequest, Principal principal) {
+    return auctionLotService.create(principal.getName(), createAuctionRequest.symbol(),
+        createAuctionRequest.quantity(), createAuctionRequest.minPrice(),
+        createAuctionRequest.closingTime());
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<List<AuctionResponse>>> getAuctions(
+      @RequestParam(required = false) String symbol,
+      @RequestParam(required = false) AuctionLot.Status status,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam(required = false) Integer limit) {
+    return auctionLotService.getAuctions(filter(null, symbol, status, minPrice), cursor, limit)
+        .map(auctionPage -> page(auctionPage.auctions(), auctionPage.nextCursor()));
+  }
+
+  @GetMapping("/owner")
+  public Mono<ResponseEntity<List<AuctionResponse>>> getAllUserAuctions(
+      Principal principal,
+      @RequestParam(required = false) String symbol,
+      @RequestParam(required = false) AuctionLot.Status status,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam(required = false) Integer limit) {
+    return auctionLotService.getAuctions(
+            filter(principal.getName(), symbol, status, minPrice), cursor, limit)
+        .map(auctionPage -> page(auctionPage.auctions(), auctionPage.nextCursor()));
+  }
+
+  private static AuctionFilter filter(String owner, String symbol, AuctionLot.Status status,
+                                      BigDecimal minPrice) {
+    return new AuctionFilter(owner, symbol, status,
+        minPrice == null ? null : Price.toTicks(minPrice));
+  }
+
+  private static <T> ResponseEntity<List<T>> page(List<T> items, Integer nextCursor) {
+    var response = ResponseEntity.ok();
+    if (nextCursor != null) {
+      response.header(NEXT_CURSOR, String.valueOf(nextCursor));
+    }
+    return response.body(items);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<AuctionResponse> getAuctionById(@PathVariable int id) {
+    return auctionLotService.getAuction(id);
+  }
+
+  @ResponseStatus(HttpStatus.CREATED)
+  @PostMapping("/bids/{id}")
+  public Mono<BidResponse> bid(@RequestBody @Valid BidRequest bidRequest,
+                               Principal principal, @PathVariable int id) {
+    return auctionLotService.bid(id, principal.getName(), bidRequest.quantity(),
+        bidRequest.price());
+  }
+
+  @ResponseStatus(HttpStatus.CREATED)
+  @PostMapping("/bids/{id}/batch")
+  public Mono<List<BidResponse>> bids(@RequestBody List<@Valid BidRequest> bidRequests,
+                                      Principal principal, @PathVariable int id) {
+    var bidOrders = bidRequests.stream()
+        .map(bidRequest -> new BidOrder(id, bidRequest.quantity(), bidRequest.price()))
+        .toList();
+    return auctionLotService.bids(principal.getName(), bidOrders);
+  }
+
+  @ResponseStatus(HttpStatus.CREATED)
+  @PostMapping("/bids/batch")
+  public Mono<List<BidResponse>> bids(@RequestBody List<@Valid AuctionBidRequest> bidRequests,
+                                      Principal principal) {
+    var bidOrders = bidRequests.stream()
+        .map(bidRequest -> new BidOrder(bidRequest.auctionId(), bidRequest.quantity(),
+            bidRequest.price()))
+        .toList();
+    return auctionLotService.bids(principal.getName(), bidOrders);
+  }
+
+  /**
+   * Streams the bids straight from the database cursor into the response as one JSON array,
+   * a batch of rows per network write.
+   */
+  @GetMapping("/bids/{id}")
+  public Mono<Void> getAllAuctionBids(Principal principal, @PathVariable int id,
+                                      ServerHttpResponse response) {
+    return auctionLotService.checkCanViewBids(principal.getName(), id)
+        .then(Mono.defer(() -> {
+          response.setStatusCode(HttpStatus.FOUND);
+          response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          var bufferFactory = response.bufferFactory();
+          var bids = auctionLotService.getAuctionBids(id)
+              .index()
+              .map(bid -> (bid.getT1() == 0 ? "" : ",") + toJson(bid.getT2()))
+              .buffer(BIDS_PER_WRITE)
+              .map(json -> String.join("", json));
+          return response.writeWith(Flux.concat(Mono.just("["), bids, Mono.just("]"))
+              .map(json -> bufferFactory.wrap(json.getBytes(StandardCharsets.UTF_8))));
+        }));
+  }
+
+  private String toJson(BidResponse bid) {
+    try {
+      return objectMapper.writeValueAsString(bid);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @GetMapping(value = "/bids/{id}", params = "limit")
+  public Mono<ResponseEntity<List<BidResponse>>> getAuctionBids(
+      Principal principal,
+      @PathVariable int id,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam Integer limit) {
+    return auctionLotService.getAuctionBids(principal.getName(), id, cursor, limit)
+        .map(bidPage -> page(bidPage.bids(), bidPage.nextCursor()));
+  }
+
+  @PutMapping("/{id}")
+  public Mono<ClosingSummaryResponse> closeAuction(@PathVariable int id, Principal principal) {
+    return auctionLotService.closeAuction(id, principal.getName())
+        .map(ReactiveAuctionController::toResponse);
+  }
+
+  @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<Object>> stream(@PathVariable int id, Principal principal) {
+    return auctionLotService.subscribe(id, principal.getName())
+        .flatMapMany(events -> Flux.merge(events.map(ReactiveAuctionController::toServerSentEvent),
+            Mono.just(SUBSCRIBED)));
+  }
+
+  @GetMapping("/{id}/provisional")
+  public Mono<AllocationResponse> getProvisionalAllocation(Principal principal,
+                                                           @PathVariable int id) {
+    return auctionLotService.getProvisionalAllocation(principal.getName(), id)
+        .map(allocation -> new AllocationResponse(allocation.winningBids().stream(),
+            allocation.totalSoldQuantity(), allocation.totalRevenue(),
+            allocation.clearingPrice()));
+  }
+
+  @GetMapping("/{id}/ClosingSummary")
+  public Mono<ClosingSummaryResponse> getClosingSummary(Principal principal,
+                                                        @PathVariable int id) {
+    return auctionLotService.getClosingSummary(principal.getName(), id)
+        .map(ReactiveAuctionController::toResponse);
+  }
+
+  private static ServerSentEvent<Object> toServerSentEvent(AuctionEvent event) {
+    if (event instanceof AuctionEvent.AuctionClosed auctionClosed) {
+      return ServerSentEvent.builder()
+          .event("closed")
+          .data((Object) toResponse(auctionClosed.closingSummary()))
+          .build();
+    }
+    return ServerSentEvent.builder()
+        .event("bid")
+        .data((Object) ((AuctionEvent.BidAccepted) event).bid())
+        .build();
+  }
+
+  private static ClosingSummaryResponse toResponse(ClosedAuctionSummary summary) {
+    return new ClosingSummaryResponse(summary.winningBids().stream(),
+        summary.totalSoldQuantity(), summary.totalRevenue(), summary.closingTime());
+  }
+}
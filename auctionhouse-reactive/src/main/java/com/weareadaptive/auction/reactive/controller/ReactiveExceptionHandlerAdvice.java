@@ -0,0 +1,72 @@
+package com.weareadaptive.auction.reactive.controller;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
+
+import com.weareadaptive.auction.exception.BadRequestInvalidFieldsProblem;
+import com.weareadaptive.auction.exception.EntityNotFoundException;
+import com.weareadaptive.auction.exception.InvalidField;
+import com.weareadaptive.auction.exception.Problem;
+import com.weareadaptive.auction.exception.UnauthorizedActivityException;
+import com.weareadaptive.auction.model.BusinessException;
+import javax.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+@ControllerAdvice
+public class ReactiveExceptionHandlerAdvice {
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<Object> handleWebExchangeBindException(WebExchangeBindException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+
+    var invalidFields = ex.getBindingResult().getFieldErrors().stream()
+        .map(error -> new InvalidField(error.getField(), error.getDefaultMessage())).toList();
+
+    return new ResponseEntity<>(new BadRequestInvalidFieldsProblem(invalidFields), headers,
+        BAD_REQUEST);
+  }
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Object> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+
+    var invalidFields = ex.getConstraintViolations().stream()
+        .map(violation -> new InvalidField(violation.getPropertyPath().toString(),
+            violation.getMessage())).toList();
+
+    return new ResponseEntity<>(new BadRequestInvalidFieldsProblem(invalidFields), headers,
+        BAD_REQUEST);
+  }
+
+  @ExceptionHandler(BusinessException.class)
+  public ResponseEntity<Object> handleBusinessException(BusinessException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+    return new ResponseEntity<>(
+        new Problem(BAD_REQUEST.value(), BAD_REQUEST.name(), ex.getMessage()), headers,
+        BAD_REQUEST);
+  }
+
+  @ExceptionHandler(EntityNotFoundException.class)
+  public ResponseEntity<Object> handleEntityNotFoundException(EntityNotFoundException ex) {
+    return ResponseEntity.notFound().build();
+  }
+
+  @ExceptionHandler(UnauthorizedActivityException.class)
+  public ResponseEntity<Object> handleUnAuthorizedActivityException(
+      UnauthorizedActivityException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+    return new ResponseEntity<>(
+        new Problem(UNAUTHORIZED.value(), UNAUTHORIZED.name(), ex.getMessage()), headers,
+        UNAUTHORIZED);
+  }
+}
@@ -0,0 +1,40 @@
+package com.weareadaptive.auction.reactive.model;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.Price;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("auction")
+public record AuctionRow(@Id int id,
+                         String owner,
+                         String symbol,
+                         long minPrice,
+                         int quantity,
+                         AuctionLot.Status status,
+                         Instant closingTime) {
+
+  public AuctionRow {
+    if (owner == null) {
+      throw new BusinessException("owner cannot be null");
+    }
+    if (!hasText(symbol)) {
+      throw new BusinessException("symbol cannot be null or empty");
+    }
+    if (minPrice < 0) {
+      throw new BusinessException("minPrice cannot be bellow 0");
+    }
+    if (quantity < 0) {
+      throw new BusinessException("quantity must be above 0");
+    }
+    if (minPrice > Price.maxPrice(quantity)) {
+      throw new BusinessException("minPrice cannot be above "
+          + Price.toDecimal(Price.maxPrice(quantity)));
+    }
+    symbol = symbol.toUpperCase().trim();
+  }
+}
@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.reactive.model;
+
+import com.weareadaptive.auction.model.Bid;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("bids")
+public record BidRow(@Id int bidId,
+                     @Column("id") int auctionId,
+                     String owner,
+                     int quantity,
+                     long price,
+                     Bid.State state,
+                     int winQuantity) {
+}
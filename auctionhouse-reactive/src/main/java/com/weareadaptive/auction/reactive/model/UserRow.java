@@ -0,0 +1,13 @@
+package com.weareadaptive.auction.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("auction_user")
+public record UserRow(@Id int id,
+                      String username,
+                      String password,
+                      @Column("is_admin") boolean admin,
+                      boolean blocked) {
+}
@@ -0,0 +1,10 @@
+package com.weareadaptive.auction.reactive.repository;
+
+public record BidAllocationRow(int bidId,
+                               String owner,
+                               int quantity,
+                               long price,
+                               int winQuantity,
+                               int totalSoldQuantity,
+                               long totalRevenue) {
+}
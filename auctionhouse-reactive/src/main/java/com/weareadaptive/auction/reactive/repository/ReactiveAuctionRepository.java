@@ -0,0 +1,29 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.reactive.model.AuctionRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAuctionRepository
+    extends ReactiveCrudRepository<AuctionRow, Integer>, ReactiveAuctionSearch {
+
+  @Query("SELECT id, owner, symbol, min_price, quantity, status, closing_time FROM auction"
+      + " WHERE id = :id")
+  Mono<AuctionResponse> getAuctionResponse(int id);
+
+  @Query("SELECT * FROM auction WHERE id = :id FOR SHARE")
+  Mono<AuctionRow> findByIdForShare(int id);
+
+  @Query("SELECT * FROM auction WHERE id = :id FOR UPDATE")
+  Mono<AuctionRow> findByIdForUpdate(int id);
+
+  @Modifying
+  @Query("UPDATE auction SET status = 'CLOSED', version = version + 1"
+      + " WHERE id = :id AND status = 'OPENED'")
+  Mono<Integer> close(int id);
+}
@@ -0,0 +1,13 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveAuctionSearch {
+  /**
+   * Returns up to {@code limit} auctions matching the filter, newest first, starting after the
+   * auction with id {@code before} when it is given.
+   */
+  Flux<AuctionResponse> search(AuctionFilter filter, Integer before, int limit);
+}
@@ -0,0 +1,43 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.reactive.model.AuctionRow;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+public class ReactiveAuctionSearchImpl implements ReactiveAuctionSearch {
+  private final R2dbcEntityTemplate template;
+
+  public ReactiveAuctionSearchImpl(R2dbcEntityTemplate template) {
+    this.template = template;
+  }
+
+  @Override
+  public Flux<AuctionResponse> search(AuctionFilter filter, Integer before, int limit) {
+    var criteria = Criteria.empty();
+    if (filter.owner() != null) {
+      criteria = criteria.and("owner").is(filter.owner());
+    }
+    if (filter.symbol() != null) {
+      criteria = criteria.and("symbol").is(filter.symbol());
+    }
+    if (filter.status() != null) {
+      criteria = criteria.and("status").is(filter.status().name());
+    }
+    if (filter.minPrice() != null) {
+      criteria = criteria.and("minPrice").greaterThanOrEquals(filter.minPrice());
+    }
+    if (before != null) {
+      criteria = criteria.and("id").lessThan(before);
+    }
+
+    return template.select(AuctionRow.class)
+        .as(AuctionResponse.class)
+        .matching(Query.query(criteria).sort(Sort.by(Sort.Direction.DESC, "id")).limit(limit))
+        .all();
+  }
+}
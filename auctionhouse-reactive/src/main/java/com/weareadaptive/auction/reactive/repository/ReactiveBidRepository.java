@@ -0,0 +1,75 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.reactive.model.BidRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveBidRepository extends ReactiveCrudRepository<BidRow, Integer> {
+
+  @Query("SELECT owner AS owner_username, bid_id, id AS auction_id, quantity, price FROM bids"
+      + " WHERE id = :auctionId ORDER BY price DESC, quantity DESC, bid_id")
+  Flux<BidResponse> getAuctionBids(int auctionId);
+
+  @Query("SELECT owner AS owner_username, bid_id, id AS auction_id, quantity, price FROM bids"
+      + " WHERE id = :auctionId ORDER BY price DESC, quantity DESC, bid_id LIMIT :limit")
+  Flux<BidResponse> getAuctionBids(int auctionId, int limit);
+
+  @Query("SELECT b.owner AS owner_username, b.bid_id, b.id AS auction_id, b.quantity, b.price"
+      + " FROM bids b, bids c WHERE b.id = :auctionId AND c.id = :auctionId AND c.bid_id = :bidId"
+      + " AND (b.price < c.price OR (b.price = c.price AND (b.quantity < c.quantity"
+      + " OR (b.quantity = c.quantity AND b.bid_id > c.bid_id))))"
+      + " ORDER BY b.price DESC, b.quantity DESC, b.bid_id LIMIT :limit")
+  Flux<BidResponse> getAuctionBidsAfter(int auctionId, int bidId, int limit);
+
+  @Query("""
+      WITH ranked AS (
+        SELECT bid_id, owner, quantity, price,
+               sum(quantity) OVER (ORDER BY price DESC, quantity DESC, bid_id
+                                   ROWS UNBOUNDED PRECEDING) - quantity AS filled_before
+        FROM bids
+        WHERE id = :auctionId AND state = 'PENDING'
+      ), winners AS (
+        SELECT bid_id, owner, quantity, price,
+               least(quantity, :quantity - filled_before) AS win_quantity
+        FROM ranked
+        WHERE filled_before < :quantity
+      )
+      SELECT bid_id, owner, CAST(quantity AS integer) AS quantity, price,
+             CAST(win_quantity AS integer) AS win_quantity,
+             CAST(sum(win_quantity) OVER () AS integer) AS total_sold_quantity,
+             CAST(sum(CAST(win_quantity AS bigint) * price) OVER () AS bigint) AS total_revenue
+      FROM winners
+      ORDER BY price DESC, quantity DESC, bid_id
+      """)
+  Flux<BidAllocationRow> provisionalAllocation(int auctionId, int quantity);
+
+  @Query("""
+      WITH ranked AS (
+        SELECT bid_id,
+               sum(quantity) OVER (ORDER BY price DESC, quantity DESC, bid_id
+                                   ROWS UNBOUNDED PRECEDING) - quantity AS filled_before
+        FROM bids
+        WHERE id = :auctionId AND state = 'PENDING'
+      ), closed AS (
+        UPDATE bids b
+        SET state = CASE WHEN r.filled_before < :quantity THEN 'WIN' ELSE 'LOST' END,
+            win_quantity = greatest(least(b.quantity, :quantity - r.filled_before), 0),
+            version = b.version + 1
+        FROM ranked r
+        WHERE b.bid_id = r.bid_id
+        RETURNING b.bid_id, b.owner, b.quantity, b.price, b.state, b.win_quantity
+      )
+      SELECT bid_id, owner, CAST(quantity AS integer) AS quantity, price,
+             CAST(win_quantity AS integer) AS win_quantity,
+             CAST(sum(win_quantity) OVER () AS integer) AS total_sold_quantity,
+             CAST(sum(CAST(win_quantity AS bigint) * price) OVER () AS bigint) AS total_revenue
+      FROM closed
+      WHERE state = 'WIN'
+      ORDER BY price DESC, quantity DESC, bid_id
+      """)
+  Flux<BidAllocationRow> allocate(int auctionId, int quantity);
+}
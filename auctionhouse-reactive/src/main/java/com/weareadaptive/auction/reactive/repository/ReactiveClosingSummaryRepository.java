@@ -0,0 +1,68 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.reactive.service.ClosedAuctionSummary;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class ReactiveClosingSummaryRepository {
+  private final DatabaseClient databaseClient;
+
+  public ReactiveClosingSummaryRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  public Mono<Void> save(int auctionId, ClosedAuctionSummary summary,
+                         List<BidAllocationRow> allocations) {
+    var insertSummary = databaseClient.sql("INSERT INTO closing_summary"
+            + " (auction_id, total_sold_quantity, total_revenue, closing_time)"
+            + " VALUES (:auctionId, :totalSoldQuantity, :totalRevenue, :closingTime)")
+        .bind("auctionId", auctionId)
+        .bind("totalSoldQuantity", (long) summary.totalSoldQuantity())
+        .bind("totalRevenue", summary.totalRevenue())
+        .bind("closingTime", OffsetDateTime.ofInstant(summary.closingTime(), ZoneOffset.UTC))
+        .then();
+
+    var insertWinners = Flux.range(0, allocations.size())
+        .concatMap(position -> databaseClient.sql("INSERT INTO winning_bid"
+                + " (auction_id, position, bid_id, quantity)"
+                + " VALUES (:auctionId, :position, :bidId, :quantity)")
+            .bind("auctionId", auctionId)
+            .bind("position", position)
+            .bind("bidId", allocations.get(position).bidId())
+            .bind("quantity", (long) allocations.get(position).winQuantity())
+            .then())
+        .then();
+
+    return insertSummary.then(insertWinners);
+  }
+
+  public Mono<ClosedAuctionSummary> get(int auctionId) {
+    var winningBids = databaseClient.sql("SELECT b.owner, b.bid_id, b.id, b.quantity, b.price"
+            + " FROM winning_bid w JOIN bids b ON b.bid_id = w.bid_id"
+            + " WHERE w.auction_id = :auctionId ORDER BY w.position")
+        .bind("auctionId", auctionId)
+        .map(row -> new BidResponse(row.get("owner", String.class),
+            row.get("bid_id", Integer.class), row.get("id", Integer.class),
+            row.get("quantity", Long.class).intValue(), row.get("price", Long.class)))
+        .all()
+        .collectList();
+
+    return databaseClient.sql("SELECT total_sold_quantity, total_revenue, closing_time"
+            + " FROM closing_summary WHERE auction_id = :auctionId")
+        .bind("auctionId", auctionId)
+        .map(row -> new ClosedAuctionSummary(List.of(),
+            row.get("total_sold_quantity", Long.class).intValue(),
+            row.get("total_revenue", Long.class),
+            row.get("closing_time", OffsetDateTime.class).toInstant()))
+        .one()
+        .zipWith(winningBids, (summary, bids) -> new ClosedAuctionSummary(bids,
+            summary.totalSoldQuantity(), summary.totalRevenue(), summary.closingTime()));
+  }
+}
@@ -0,0 +1,17 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import com.weareadaptive.auction.reactive.model.UserRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Integer> {
+
+  @Query("SELECT * FROM auction_user WHERE username = :username AND password = :password")
+  Mono<UserRow> validateUsernamePassword(String username, String password);
+
+  @Query("SELECT * FROM auction_user WHERE username = :username")
+  Mono<UserRow> getByUsername(String username);
+}
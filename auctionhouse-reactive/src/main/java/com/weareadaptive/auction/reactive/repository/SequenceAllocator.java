@@ -0,0 +1,61 @@
+package com.weareadaptive.auction.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out ids from a database sequence the same way Hibernate's pooled optimizer does for
+ * {@code @SequenceGenerator(allocationSize = 50)}: every {@code nextval} is the top of a block of
+ * {@code allocationSize} ids, so this application and the servlet one can share a database
+ * without clashing. Only one refill is in flight at a time; callers that find the block used up
+ * wait for it instead of each burning a block of their own.
+ */
+public class SequenceAllocator {
+  private final DatabaseClient databaseClient;
+  private final String sequence;
+  private final int allocationSize;
+  private long next = 1;
+  private long hi = 0;
+  private Mono<Void> refill;
+
+  public SequenceAllocator(DatabaseClient databaseClient, String sequence, int allocationSize) {
+    this.databaseClient = databaseClient;
+    this.sequence = sequence;
+    this.allocationSize = allocationSize;
+  }
+
+  public Mono<Integer> next() {
+    return Mono.defer(() -> {
+      Mono<Void> pending;
+      synchronized (this) {
+        if (next <= hi) {
+          return Mono.just((int) next++);
+        }
+        if (refill == null) {
+          refill = fetchBlock().cache();
+        }
+        pending = refill;
+      }
+      return pending.then(next());
+    });
+  }
+
+  private Mono<Void> fetchBlock() {
+    return databaseClient.sql("SELECT nextval('" + sequence + "')")
+        .map(row -> row.get(0, Long.class))
+        .one()
+        .doOnNext(top -> {
+          synchronized (this) {
+            next = Math.max(1, top - allocationSize + 1);
+            hi = top;
+            refill = null;
+          }
+        })
+        .doOnError(error -> {
+          synchronized (this) {
+            refill = null;
+          }
+        })
+        .then();
+  }
+}
@@ -0,0 +1,52 @@
+package com.weareadaptive.auction.reactive.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfiguration {
+  private static final String BEARER = "Bearer ";
+
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http, TokenAuthenticationManager authenticationManager) {
+    var entryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
+    var authenticationFilter = new AuthenticationWebFilter(authenticationManager);
+    authenticationFilter.setServerAuthenticationConverter(exchange -> Mono.justOrEmpty(
+            exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+        .filter(header -> header.startsWith(BEARER))
+        .map(header -> new UsernamePasswordAuthenticationToken(null,
+            header.substring(BEARER.length()))));
+    authenticationFilter.setAuthenticationFailureHandler(
+        new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+    authenticationFilter.setSecurityContextRepository(
+        NoOpServerSecurityContextRepository.getInstance());
+
+    return http
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .addFilterAt(authenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+        .exceptionHandling(exceptionHandling -> exceptionHandling
+            .authenticationEntryPoint(entryPoint))
+        .authorizeExchange(exchanges -> exchanges
+            .pathMatchers("/auctions/**").hasRole("USER")
+            .anyExchange().authenticated())
+        .csrf().disable()
+        .formLogin().disable()
+        .httpBasic().disable()
+        .logout().disable()
+        .build();
+  }
+}
@@ -0,0 +1,67 @@
+package com.weareadaptive.auction.reactive.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weareadaptive.auction.reactive.model.UserRow;
+import com.weareadaptive.auction.reactive.repository.ReactiveUserRepository;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Checks {@code username:password} bearer tokens against the users table. Valid tokens are
+ * cached for {@code auction.auth-cache.time-to-live}; there is no user administration in this
+ * application to invalidate them, so a blocked user keeps access until their entry expires.
+ * Misses are loaded outside the cache rather than through Caffeine's async loader, whose
+ * mapping function runs under a map lock that must not be held while the query subscribes.
+ */
+@Component
+public class TokenAuthenticationManager implements ReactiveAuthenticationManager {
+  private final ReactiveUserRepository userRepository;
+  private final Cache<String, UserRow> users;
+
+  public TokenAuthenticationManager(
+      ReactiveUserRepository userRepository,
+      @Value("${auction.auth-cache.maximum-size:10000}") long maximumSize,
+      @Value("${auction.auth-cache.time-to-live:PT30S}") Duration timeToLive) {
+    this.userRepository = userRepository;
+    users = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .build();
+  }
+
+  @Override
+  public Mono<Authentication> authenticate(Authentication authentication) {
+    var token = String.valueOf(authentication.getCredentials());
+    return Mono.justOrEmpty(users.getIfPresent(token))
+        .switchIfEmpty(Mono.defer(() -> loadUser(token)
+            .doOnNext(user -> users.put(token, user))))
+        .map(user -> {
+          if (user.blocked()) {
+            throw new DisabledException("User is blocked");
+          }
+          return new UsernamePasswordAuthenticationToken(user.username(), token,
+              List.of(new SimpleGrantedAuthority(user.admin() ? "ROLE_ADMIN" : "ROLE_USER")));
+        });
+  }
+
+  private Mono<UserRow> loadUser(String token) {
+    var splitIndex = token.indexOf(":");
+    if (splitIndex < 1) {
+      return Mono.error(new BadCredentialsException("Bad token"));
+    }
+    var username = token.substring(0, splitIndex);
+    var password = token.substring(splitIndex + 1);
+    return userRepository.validateUsernamePassword(username, password)
+        .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Bad token")));
+  }
+}
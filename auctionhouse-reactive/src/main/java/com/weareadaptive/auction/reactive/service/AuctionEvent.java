@@ -0,0 +1,14 @@
+package com.weareadaptive.auction.reactive.service;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+
+public sealed interface AuctionEvent {
+  int auctionId();
+
+  record BidAccepted(int auctionId, BidResponse bid) implements AuctionEvent {
+  }
+
+  record AuctionClosed(int auctionId, ClosedAuctionSummary closingSummary)
+      implements AuctionEvent {
+  }
+}
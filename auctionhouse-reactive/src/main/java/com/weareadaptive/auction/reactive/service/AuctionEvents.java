@@ -0,0 +1,54 @@
+package com.weareadaptive.auction.reactive.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Per-auction event sinks. A slow subscriber keeps its latest {@code auction.stream.buffer-size}
+ * events and drops the oldest rather than holding up the bidders, like the servlet application's
+ * event stream. A sink exists only while it has subscribers and is completed when the auction
+ * closes.
+ */
+@Component
+public class AuctionEvents {
+  private final Map<Integer, Sinks.Many<AuctionEvent>> sinks = new ConcurrentHashMap<>();
+  private final int bufferSize;
+
+  public AuctionEvents(@Value("${auction.stream.buffer-size:256}") int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public Flux<AuctionEvent> subscribe(int auctionId) {
+    return Flux.defer(() -> sinks
+            .computeIfAbsent(auctionId, id -> Sinks.many().multicast().directBestEffort())
+            .asFlux())
+        .onBackpressureBuffer(bufferSize, BufferOverflowStrategy.DROP_OLDEST)
+        .doFinally(signal -> sinks.computeIfPresent(auctionId,
+            (id, sink) -> sink.currentSubscriberCount() == 0 ? null : sink));
+  }
+
+  public void publish(AuctionEvent event) {
+    var sink = event instanceof AuctionEvent.AuctionClosed
+        ? sinks.remove(event.auctionId())
+        : sinks.get(event.auctionId());
+    if (sink == null) {
+      return;
+    }
+    synchronized (sink) {
+      sink.tryEmitNext(event);
+      if (event instanceof AuctionEvent.AuctionClosed) {
+        sink.tryEmitComplete();
+      }
+    }
+  }
+
+  public int subscriberCount(int auctionId) {
+    var sink = sinks.get(auctionId);
+    return sink == null ? 0 : sink.currentSubscriberCount();
+  }
+}
@@ -0,0 +1,11 @@
+package com.weareadaptive.auction.reactive.service;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import java.time.Instant;
+import java.util.List;
+
+public record ClosedAuctionSummary(List<BidResponse> winningBids,
+                                   int totalSoldQuantity,
+                                   long totalRevenue,
+                                   Instant closingTime) {
+}
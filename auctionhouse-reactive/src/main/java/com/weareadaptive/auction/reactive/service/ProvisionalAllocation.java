@@ -0,0 +1,10 @@
+package com.weareadaptive.auction.reactive.service;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import java.util.List;
+
+public record ProvisionalAllocation(List<BidResponse> winningBids,
+                                    int totalSoldQuantity,
+                                    long totalRevenue,
+                                    Long clearingPrice) {
+}
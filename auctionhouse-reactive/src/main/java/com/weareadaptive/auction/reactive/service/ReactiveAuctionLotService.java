@@ -0,0 +1,368 @@
+package com.weareadaptive.auction.reactive.service;
+
+import static java.lang.String.format;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.exception.EntityNotFoundException;
+import com.weareadaptive.auction.exception.UnauthorizedActivityException;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionPage;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BidOrder;
+import com.weareadaptive.auction.model.BidPage;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.reactive.model.AuctionRow;
+import com.weareadaptive.auction.reactive.model.BidRow;
+import com.weareadaptive.auction.reactive.repository.BidAllocationRow;
+import com.weareadaptive.auction.reactive.repository.ReactiveAuctionRepository;
+import com.weareadaptive.auction.reactive.repository.ReactiveBidRepository;
+import com.weareadaptive.auction.reactive.repository.ReactiveClosingSummaryRepository;
+import com.weareadaptive.auction.reactive.repository.ReactiveUserRepository;
+import com.weareadaptive.auction.reactive.repository.SequenceAllocator;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The auction rules of the servlet application's {@code AuctionLotService} on R2DBC. There is no
+ * sequencer or in-memory order book here: each write is one database transaction, bids take a
+ * shared lock on their auction row and closing takes an exclusive one, so a bid can never slip
+ * in while its auction is being allocated.
+ */
+@Service
+public class ReactiveAuctionLotService {
+  private static final int ID_ALLOCATION_SIZE = 50;
+
+  private final ReactiveAuctionRepository auctionRepository;
+  private final ReactiveBidRepository bidRepository;
+  private final ReactiveUserRepository userRepository;
+  private final ReactiveClosingSummaryRepository closingSummaryRepository;
+  private final R2dbcEntityTemplate template;
+  private final TransactionalOperator transactionalOperator;
+  private final AuctionEvents auctionEvents;
+  private final SequenceAllocator auctionIds;
+  private final SequenceAllocator bidIds;
+  private final int maxBatchSize;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final Duration streamTimeout;
+
+  public ReactiveAuctionLotService(ReactiveAuctionRepository auctionRepository,
+                                   ReactiveBidRepository bidRepository,
+                                   ReactiveUserRepository userRepository,
+                                   ReactiveClosingSummaryRepository closingSummaryRepository,
+                                   R2dbcEntityTemplate template,
+                                   DatabaseClient databaseClient,
+                                   TransactionalOperator transactionalOperator,
+                                   AuctionEvents auctionEvents,
+                                   @Value("${auction.bids.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${auction.listing.default-page-size:100}")
+                                   int defaultPageSize,
+                                   @Value("${auction.listing.max-page-size:1000}")
+                                   int maxPageSize,
+                                   @Value("${auction.stream.timeout:PT30M}")
+                                   Duration streamTimeout) {
+    this.auctionRepository = auctionRepository;
+    this.bidRepository = bidRepository;
+    this.userRepository = userRepository;
+    this.closingSummaryRepository = closingSummaryRepository;
+    this.template = template;
+    this.transactionalOperator = transactionalOperator;
+    this.auctionEvents = auctionEvents;
+    this.maxBatchSize = maxBatchSize;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.streamTimeout = streamTimeout;
+    auctionIds = new SequenceAllocator(databaseClient, "auction_seq", ID_ALLOCATION_SIZE);
+    bidIds = new SequenceAllocator(databaseClient, "bids_seq", ID_ALLOCATION_SIZE);
+  }
+
+  public Mono<AuctionResponse> create(String owner, String symbol, int quantity, long minPrice,
+                                      Instant closingTime) {
+    if (closingTime != null && !closingTime.isAfter(Instant.now())) {
+      return Mono.error(new BusinessException("closingTime must be in the future"));
+    }
+    return userRepository.getByUsername(owner)
+        .switchIfEmpty(Mono.error(() -> new BusinessException("Invalid Username")))
+        .then(auctionIds.next())
+        .map(id -> new AuctionRow(id, owner, symbol, minPrice, quantity,
+            AuctionLot.Status.OPENED, closingTime))
+        .flatMap(template::insert)
+        .map(ReactiveAuctionLotService::toResponse);
+  }
+
+  public Mono<AuctionPage> getAuctions(AuctionFilter filter, Integer cursor, Integer limit) {
+    return pageSize(limit).flatMap(pageSize ->
+        auctionRepository.search(filter, cursor, pageSize + 1)
+            .collectList()
+            .map(auctions -> {
+              if (auctions.size() <= pageSize) {
+                return new AuctionPage(auctions, null);
+              }
+              var page = auctions.subList(0, pageSize);
+              return new AuctionPage(page, page.get(pageSize - 1).id());
+            }));
+  }
+
+  public Mono<AuctionResponse> getAuction(int id) {
+    return auctionRepository.getAuctionResponse(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Invalid Auction Id")));
+  }
+
+  public Mono<BidResponse> bid(int id, String userName, int quantity, long price) {
+    return bidIds.next()
+        .flatMap(bidId -> auctionRepository.findByIdForShare(id)
+            .switchIfEmpty(Mono.error(() -> new BusinessException("Invalid Auction Id")))
+            .doOnNext(auction -> validateBid(auction, userName, quantity, price))
+            .then(Mono.defer(() -> template.insert(new BidRow(bidId, id, userName, quantity,
+                price, Bid.State.PENDING, 0))))
+            .as(transactionalOperator::transactional))
+        .map(ReactiveAuctionLotService::toResponse)
+        .doOnNext(bid -> auctionEvents.publish(new AuctionEvent.BidAccepted(id, bid)));
+  }
+
+  public Mono<List<BidResponse>> bids(String userName, List<BidOrder> bidOrders) {
+    if (bidOrders.isEmpty()) {
+      return Mono.error(new BusinessException("bids cannot be empty"));
+    }
+    if (bidOrders.size() > maxBatchSize) {
+      return Mono.error(new BusinessException(
+          format("cannot submit more than %s bids at once", maxBatchSize)));
+    }
+
+    var auctions = new HashMap<Integer, AuctionRow>();
+    return Flux.fromIterable(bidOrders)
+        .concatMap(bidOrder -> bidIds.next())
+        .collectList()
+        .flatMap(ids -> Flux.range(0, bidOrders.size())
+            .concatMap(i -> {
+              var bidOrder = bidOrders.get(i);
+              var auction = auctions.containsKey(bidOrder.auctionId())
+                  ? Mono.just(auctions.get(bidOrder.auctionId()))
+                  : auctionRepository.findByIdForShare(bidOrder.auctionId())
+                      .switchIfEmpty(
+                          Mono.error(() -> new BusinessException("Invalid Auction Id")))
+                      .doOnNext(row -> auctions.put(row.id(), row));
+              return auction
+                  .doOnNext(row -> validateBid(row, userName, bidOrder.quantity(),
+                      bidOrder.price()))
+                  .then(Mono.defer(() -> template.insert(new BidRow(ids.get(i),
+                      bidOrder.auctionId(), userName, bidOrder.quantity(), bidOrder.price(),
+                      Bid.State.PENDING, 0))));
+            })
+            .map(ReactiveAuctionLotService::toResponse)
+            .collectList()
+            .as(transactionalOperator::transactional))
+        .doOnNext(bids -> bids.forEach(bid ->
+            auctionEvents.publish(new AuctionEvent.BidAccepted(bid.auctionId(), bid))));
+  }
+
+  private static void validateBid(AuctionRow auction, String userName, int quantity,
+                                  long price) {
+    if (auction.status() == AuctionLot.Status.CLOSED) {
+      throw new BusinessException("Cannot close an already closed.");
+    }
+
+    if (userName.equals(auction.owner())) {
+      throw new BusinessException("User cannot bid on his own auctions");
+    }
+
+    if (quantity < 0) {
+      throw new BusinessException("quantity must be be above 0");
+    }
+
+    if (price < auction.minPrice()) {
+      throw new BusinessException(format("price needs to be above %s",
+          Price.toDecimal(auction.minPrice())));
+    }
+
+    if (price > Price.maxPrice(auction.quantity())) {
+      throw new BusinessException(format("price needs to be at most %s",
+          Price.toDecimal(Price.maxPrice(auction.quantity()))));
+    }
+
+    if (price <= 0) {
+      throw new BusinessException("price must be above 0");
+    }
+
+    if (quantity <= 0) {
+      throw new BusinessException("quantity must be above 0");
+    }
+
+    try {
+      Price.revenue(quantity, price);
+    } catch (ArithmeticException e) {
+      throw new BusinessException("quantity times price is too large");
+    }
+  }
+
+  public Mono<Void> checkCanViewBids(String username, int id) {
+    return auctionRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Auction not found")))
+        .flatMap(auction -> auction.owner().equals(username)
+            ? Mono.empty()
+            : Mono.error(new UnauthorizedActivityException("User can not view Bids")));
+  }
+
+  public Flux<BidResponse> getAuctionBids(int id) {
+    return bidRepository.getAuctionBids(id);
+  }
+
+  public Mono<BidPage> getAuctionBids(String username, int id, Integer cursor, Integer limit) {
+    return checkCanViewBids(username, id)
+        .then(pageSize(limit))
+        .flatMap(pageSize -> (cursor == null
+            ? bidRepository.getAuctionBids(id, pageSize + 1)
+            : bidRepository.getAuctionBidsAfter(id, cursor, pageSize + 1))
+            .collectList()
+            .map(bids -> {
+              if (bids.size() <= pageSize) {
+                return new BidPage(bids, null);
+              }
+              var page = bids.subList(0, pageSize);
+              return new BidPage(page, page.get(pageSize - 1).bidId());
+            }));
+  }
+
+  private Mono<Integer> pageSize(Integer limit) {
+    var pageSize = limit == null ? defaultPageSize : limit;
+    if (pageSize < 1 || pageSize > maxPageSize) {
+      return Mono.error(
+          new BusinessException(format("limit must be between 1 and %s", maxPageSize)));
+    }
+    return Mono.just(pageSize);
+  }
+
+  public Mono<ClosedAuctionSummary> closeAuction(int id, String username) {
+    var closingTime = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    return auctionRepository.findByIdForUpdate(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Auction not found")))
+        .flatMap(auction -> {
+          if (auction.status() == AuctionLot.Status.CLOSED) {
+            return Mono.error(new BusinessException("Cannot close because already closed."));
+          }
+          if (!auction.owner().equals(username)) {
+            return Mono.error(
+                new UnauthorizedActivityException("User can not close this auction"));
+          }
+          return bidRepository.allocate(id, auction.quantity()).collectList()
+              .flatMap(allocations -> {
+                var summary = summary(id, allocations, closingTime);
+                return auctionRepository.close(id)
+                    .then(closingSummaryRepository.save(id, summary, allocations))
+                    .thenReturn(summary);
+              });
+        })
+        .as(transactionalOperator::transactional)
+        .doOnNext(summary -> auctionEvents.publish(new AuctionEvent.AuctionClosed(id, summary)));
+  }
+
+  private static ClosedAuctionSummary summary(int auctionId, List<BidAllocationRow> allocations,
+                                              Instant closingTime) {
+    if (allocations.isEmpty()) {
+      return new ClosedAuctionSummary(List.of(), 0, 0, closingTime);
+    }
+    var totals = allocations.get(0);
+    return new ClosedAuctionSummary(toResponses(auctionId, allocations),
+        totals.totalSoldQuantity(), totals.totalRevenue(), closingTime);
+  }
+
+  public Mono<ClosedAuctionSummary> getClosingSummary(String username, int id) {
+    return auctionRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Auction not found")))
+        .flatMap(auction -> {
+          if (auction.status() == AuctionLot.Status.OPENED) {
+            return Mono.error(new BusinessException("Auction not closed yet"));
+          }
+          if (!auction.owner().equals(username)) {
+            return Mono.error(
+                new UnauthorizedActivityException("User can not view Closing Summary"));
+          }
+          return closingSummaryRepository.get(id).switchIfEmpty(
+              Mono.error(() -> new EntityNotFoundException("Closing summary not found")));
+        });
+  }
+
+  public Mono<ProvisionalAllocation> getProvisionalAllocation(String username, int id) {
+    return auctionRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Auction not found")))
+        .flatMap(auction -> {
+          if (!auction.owner().equals(username)) {
+            return Mono.error(new UnauthorizedActivityException(
+                "User can not view the provisional allocation"));
+          }
+          if (auction.status() == AuctionLot.Status.CLOSED) {
+            return Mono.error(new BusinessException("Auction is already closed"));
+          }
+          return bidRepository.provisionalAllocation(id, auction.quantity()).collectList()
+              .map(allocations -> {
+                if (allocations.isEmpty()) {
+                  return new ProvisionalAllocation(List.of(), 0, 0, null);
+                }
+                var totals = allocations.get(0);
+                return new ProvisionalAllocation(toResponses(id, allocations),
+                    totals.totalSoldQuantity(), totals.totalRevenue(),
+                    allocations.get(allocations.size() - 1).price());
+              });
+        });
+  }
+
+  /**
+   * Checks that the user may follow the auction and then gives the events to subscribe to. An
+   * auction that closes between the check and the subscription still ends the stream with its
+   * closing summary.
+   */
+  public Mono<Flux<AuctionEvent>> subscribe(int id, String username) {
+    return auctionRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Auction not found")))
+        .flatMap(auction -> {
+          if (!auction.owner().equals(username)) {
+            return Mono.error(new UnauthorizedActivityException("User can not view Bids"));
+          }
+          if (auction.status() == AuctionLot.Status.CLOSED) {
+            return Mono.error(new BusinessException("Auction is already closed"));
+          }
+          return Mono.just(auctionEvents.subscribe(id)
+              .mergeWith(closedSince(id))
+              .takeUntil(event -> event instanceof AuctionEvent.AuctionClosed)
+              .take(streamTimeout));
+        });
+  }
+
+  private Mono<AuctionEvent> closedSince(int id) {
+    return auctionRepository.findById(id)
+        .filter(auction -> auction.status() == AuctionLot.Status.CLOSED)
+        .flatMap(auction -> closingSummaryRepository.get(id))
+        .map(summary -> new AuctionEvent.AuctionClosed(id, summary));
+  }
+
+  private static List<BidResponse> toResponses(int auctionId,
+                                               List<BidAllocationRow> allocations) {
+    return allocations.stream()
+        .map(allocation -> new BidResponse(allocation.owner(), allocation.bidId(), auctionId,
+            allocation.quantity(), allocation.price()))
+        .toList();
+  }
+
+  private static AuctionResponse toResponse(AuctionRow auction) {
+    return new AuctionResponse(auction.id(), auction.owner(), auction.symbol(),
+        auction.minPrice(), auction.quantity(), auction.status(), auction.closingTime());
+  }
+
+  private static BidResponse toResponse(BidRow bid) {
+    return new BidResponse(bid.owner(), bid.bidId(), bid.auctionId(), bid.quantity(),
+        bid.price());
+  }
+}
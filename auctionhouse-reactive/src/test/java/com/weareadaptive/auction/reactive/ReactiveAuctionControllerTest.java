@@ -0,0 +1,482 @@
+package com.weareadaptive.auction.reactive;
+
+import static com.weareadaptive.auction.model.Price.maxPrice;
+import static com.weareadaptive.auction.model.Price.toDecimal;
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static com.weareadaptive.auction.reactive.controller.ReactiveAuctionController.NEXT_CURSOR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+import com.weareadaptive.auction.controller.dto.AuctionBidRequest;
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidRequest;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
+import com.weareadaptive.auction.reactive.service.ReactiveAuctionLotService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveAuctionControllerTest {
+  private static final String PASSWORD = "password";
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2").withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private WebTestClient webTestClient;
+  @Autowired
+  private DatabaseClient databaseClient;
+  @Autowired
+  private ReactiveAuctionLotService auctionLotService;
+  private String owner;
+  private String bidder1;
+  private String bidder2;
+
+  @DynamicPropertySource
+  public static void postgresProperties(@NotNull DynamicPropertyRegistry registry) {
+    registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgreSQL.getHost() + ":"
+        + postgreSQL.getFirstMappedPort() + "/" + postgreSQL.getDatabaseName());
+    registry.add("spring.r2dbc.username", postgreSQL::getUsername);
+    registry.add("spring.r2dbc.password", postgreSQL::getPassword);
+    registry.add("spring.flyway.url", postgreSQL::getJdbcUrl);
+    registry.add("spring.flyway.user", postgreSQL::getUsername);
+    registry.add("spring.flyway.password", postgreSQL::getPassword);
+  }
+
+  @BeforeEach
+  public void createUsers() {
+    var runId = UUID.randomUUID().toString().substring(0, 8);
+    owner = createUser("owner" + runId);
+    bidder1 = createUser("bidder1" + runId);
+    bidder2 = createUser("bidder2" + runId);
+  }
+
+  @DisplayName("create should return the created auction and getAuctionById should find it")
+  @Test
+  public void createShouldReturnAuction() {
+    var auction = createAuction(owner, 100, 10.0);
+
+    assertThat(auction.symbol(), equalTo("FB"));
+    assertThat(auction.owner(), equalTo(owner));
+    //@formatter:off
+    webTestClient.get()
+        .uri("/auctions/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+    .exchange()
+        .expectStatus().isOk()
+        .expectBody(AuctionResponse.class).isEqualTo(auction);
+    //@formatter:on
+  }
+
+  @DisplayName("create should throw if closing time is not in the future or the symbol is invalid")
+  @Test
+  public void createShouldThrowIfRequestIsInvalid() {
+    //@formatter:off
+    webTestClient.post()
+        .uri("/auctions")
+        .header(AUTHORIZATION, token(owner))
+        .bodyValue(
+            new CreateAuctionRequest("FB", toTicks(10.0), 100, Instant.now().minusSeconds(60)))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.message").isEqualTo("closingTime must be in the future");
+
+    webTestClient.post()
+        .uri("/auctions")
+        .header(AUTHORIZATION, token(owner))
+        .bodyValue(new CreateAuctionRequest("F B", toTicks(10.0), 100))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.invalidFields[0].fieldName").isEqualTo("symbol");
+    //@formatter:on
+  }
+
+  @DisplayName("create and bid should throw if quantity times price does not fit in a long")
+  @Test
+  public void createAndBidShouldThrowIfPriceIsAboveMaxPrice() {
+    var auction = createAuction(owner, 1_000, 10.0);
+
+    //@formatter:off
+    webTestClient.post()
+        .uri("/auctions")
+        .header(AUTHORIZATION, token(owner))
+        .bodyValue(new CreateAuctionRequest("FB", maxPrice(1_000) + 1, 1_000))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.message").isEqualTo("minPrice cannot be above " + toDecimal(maxPrice(1_000)));
+
+    webTestClient.post()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(new BidRequest(1, maxPrice(1_000) + 1))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.message").isEqualTo("price needs to be at most " + toDecimal(maxPrice(1_000)));
+    //@formatter:on
+  }
+
+  @DisplayName("requests should be unauthorized without a valid token")
+  @Test
+  public void requestShouldThrowIfTokenIsInvalid() {
+    //@formatter:off
+    webTestClient.get()
+        .uri("/auctions")
+        .header(AUTHORIZATION, "Bearer " + owner + ":wrong")
+    .exchange()
+        .expectStatus().isUnauthorized();
+
+    webTestClient.get()
+        .uri("/auctions")
+    .exchange()
+        .expectStatus().isUnauthorized();
+    //@formatter:on
+  }
+
+  @DisplayName("getAllUserAuctions should return pages of auctions, newest first")
+  @Test
+  public void getAllUserAuctionsShouldPaginate() {
+    var first = createAuction(owner, 100, 10.0);
+    var second = createAuction(owner, 100, 10.0);
+    var third = createAuction(owner, 100, 10.0);
+
+    //@formatter:off
+    var cursor = webTestClient.get()
+        .uri("/auctions/owner?limit=2")
+        .header(AUTHORIZATION, token(owner))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(AuctionResponse.class).contains(third, second).hasSize(2)
+        .returnResult().getResponseHeaders().getFirst(NEXT_CURSOR);
+
+    webTestClient.get()
+        .uri("/auctions/owner?limit=2&cursor={cursor}", cursor)
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isOk()
+        .expectHeader().doesNotExist(NEXT_CURSOR)
+        .expectBodyList(AuctionResponse.class).isEqualTo(List.of(first));
+
+    webTestClient.get()
+        .uri("/auctions?limit=0")
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isBadRequest();
+    //@formatter:on
+  }
+
+  @DisplayName("bid should be rejected on an unknown auction or the user's own auction")
+  @Test
+  public void bidShouldThrowIfInvalid() {
+    var auction = createAuction(owner, 100, 10.0);
+
+    //@formatter:off
+    webTestClient.post()
+        .uri("/auctions/bids/{id}", 999999)
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(new BidRequest(10, toTicks(11.0)))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Invalid Auction Id");
+
+    webTestClient.post()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+        .bodyValue(new BidRequest(10, toTicks(11.0)))
+    .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.post()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(new BidRequest(10, toTicks(9.0)))
+    .exchange()
+        .expectStatus().isBadRequest();
+    //@formatter:on
+  }
+
+  @DisplayName("getAllAuctionBids should stream the bids in close priority to the owner only")
+  @Test
+  public void getAllAuctionBidsShouldReturnBidsInClosePriority() {
+    var auction = createAuction(owner, 100, 10.0);
+    var low = bid(bidder1, auction.id(), 10, 11.0);
+    var high = bid(bidder2, auction.id(), 10, 13.0);
+    var bigger = bid(bidder1, auction.id(), 20, 11.0);
+
+    //@formatter:off
+    webTestClient.get()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isFound()
+        .expectBodyList(BidResponse.class).isEqualTo(List.of(high, bigger, low));
+
+    var cursor = webTestClient.get()
+        .uri("/auctions/bids/{id}?limit=2", auction.id())
+        .header(AUTHORIZATION, token(owner))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(BidResponse.class).isEqualTo(List.of(high, bigger))
+        .returnResult().getResponseHeaders().getFirst(NEXT_CURSOR);
+
+    webTestClient.get()
+        .uri("/auctions/bids/{id}?limit=2&cursor={cursor}", auction.id(), cursor)
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(BidResponse.class).isEqualTo(List.of(low));
+
+    webTestClient.get()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+    .exchange()
+        .expectStatus().isUnauthorized();
+
+    webTestClient.get()
+        .uri("/auctions/bids/{id}", 999999)
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isNotFound();
+    //@formatter:on
+  }
+
+  @DisplayName("concurrent bids should all be accepted with distinct ids")
+  @Test
+  public void concurrentBidsShouldGetDistinctIds() {
+    var auction = createAuction(owner, 100, 10.0);
+
+    var bidIds = Flux.range(0, 300)
+        .flatMap(i -> auctionLotService.bid(auction.id(), i % 2 == 0 ? bidder1 : bidder2, 1,
+            toTicks(11.0)), 100)
+        .map(BidResponse::bidId)
+        .collect(Collectors.toSet())
+        .block(Duration.ofSeconds(30));
+
+    assertThat(bidIds, hasSize(300));
+  }
+
+  @DisplayName("bid batch should reject the whole batch if one bid is invalid")
+  @Test
+  public void bidBatchShouldRejectWholeBatch() {
+    var auction = createAuction(owner, 100, 10.0);
+    var otherAuction = createAuction(bidder2, 100, 10.0);
+
+    //@formatter:off
+    webTestClient.post()
+        .uri("/auctions/bids/batch")
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(List.of(new AuctionBidRequest(auction.id(), 10, toTicks(11.0)),
+            new AuctionBidRequest(otherAuction.id(), 10, toTicks(5.0))))
+    .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.post()
+        .uri("/auctions/bids/batch")
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(List.of(new AuctionBidRequest(auction.id(), 10, toTicks(11.0)),
+            new AuctionBidRequest(otherAuction.id(), 10, toTicks(12.0))))
+    .exchange()
+        .expectStatus().isCreated()
+        .expectBodyList(BidResponse.class).hasSize(2);
+
+    webTestClient.get()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectBodyList(BidResponse.class).hasSize(1);
+    //@formatter:on
+  }
+
+  @DisplayName("bid batches should validate each bid")
+  @Test
+  public void bidBatchesShouldValidateEachBid() {
+    var auction = createAuction(owner, 100, 0.0);
+
+    //@formatter:off
+    webTestClient.post()
+        .uri("/auctions/bids/{id}/batch", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(List.of(new BidRequest(10, toTicks(11.0)), new BidRequest(10, toTicks(0.5))))
+    .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.invalidFields[0].message").isEqualTo("must be greater than or equal to 10000");
+
+    webTestClient.post()
+        .uri("/auctions/bids/batch")
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(List.of(new AuctionBidRequest(auction.id(), 10, toTicks(11.0)),
+            new AuctionBidRequest(auction.id(), 0, toTicks(11.0))))
+    .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.get()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectBodyList(BidResponse.class).hasSize(0);
+    //@formatter:on
+  }
+
+  @DisplayName("closeAuction should allocate to the best bids and keep the closing summary")
+  @Test
+  public void closeAuctionShouldReturnClosingSummary() {
+    var auction = createAuction(owner, 25, 10.0);
+    var low = bid(bidder1, auction.id(), 10, 11.0);
+    var high = bid(bidder2, auction.id(), 20, 13.0);
+
+    //@formatter:off
+    webTestClient.get()
+        .uri("/auctions/{id}/provisional", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.totalSoldQuantity").isEqualTo(25)
+        .jsonPath("$.totalRevenue").isEqualTo(315.0)
+        .jsonPath("$.clearingPrice").isEqualTo(11.0);
+
+    webTestClient.get()
+        .uri("/auctions/{id}/ClosingSummary", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.put()
+        .uri("/auctions/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+    .exchange()
+        .expectStatus().isUnauthorized();
+
+    webTestClient.put()
+        .uri("/auctions/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.totalSoldQuantity").isEqualTo(25)
+        .jsonPath("$.totalRevenue").isEqualTo(315.0)
+        .jsonPath("$.winningBids[*].bidId").value(contains(high.bidId(), low.bidId()));
+
+    webTestClient.get()
+        .uri("/auctions/{id}/ClosingSummary", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.totalSoldQuantity").isEqualTo(25)
+        .jsonPath("$.winningBids[*].quantity").value(contains(20, 10));
+
+    webTestClient.put()
+        .uri("/auctions/{id}", auction.id())
+        .header(AUTHORIZATION, token(owner))
+    .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.post()
+        .uri("/auctions/bids/{id}", auction.id())
+        .header(AUTHORIZATION, token(bidder1))
+        .bodyValue(new BidRequest(10, toTicks(11.0)))
+    .exchange()
+        .expectStatus().isBadRequest();
+    //@formatter:on
+  }
+
+  @DisplayName("stream should send accepted bids and the closing summary to the owner")
+  @Test
+  public void streamShouldSendBidsAndClose() {
+    var auction = createAuction(owner, 100, 10.0);
+
+    var events = webTestClient.mutate().responseTimeout(Duration.ofSeconds(10)).build().get()
+        .uri("/auctions/{id}/stream", auction.id())
+        .header(AUTHORIZATION, token(owner))
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+        })
+        .getResponseBody();
+
+    StepVerifier.create(events)
+        .expectNextMatches(event -> "subscribed".equals(event.comment()))
+        .then(() -> bid(bidder1, auction.id(), 10, 11.0))
+        .expectNextMatches(event -> "bid".equals(event.event()))
+        .then(() -> webTestClient.put()
+            .uri("/auctions/{id}", auction.id())
+            .header(AUTHORIZATION, token(owner))
+            .exchange()
+            .expectStatus().isOk())
+        .expectNextMatches(event -> "closed".equals(event.event()))
+        .expectComplete()
+        .verify(Duration.ofSeconds(10));
+  }
+
+  private String createUser(String username) {
+    databaseClient.sql("INSERT INTO auction_user"
+            + " (id, username, password, first_name, last_name, organisation, blocked, is_admin)"
+            + " VALUES (nextval('auction_user_seq'), :username, :password, 'first', 'last',"
+            + " 'Adaptive', FALSE, FALSE)")
+        .bind("username", username)
+        .bind("password", PASSWORD)
+        .then()
+        .block();
+    return username;
+  }
+
+  private AuctionResponse createAuction(String username, int quantity, double minPrice) {
+    return webTestClient.post()
+        .uri("/auctions")
+        .header(AUTHORIZATION, token(username))
+        .bodyValue(new CreateAuctionRequest("FB", toTicks(minPrice), quantity))
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(AuctionResponse.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  private BidResponse bid(String username, int auctionId, int quantity, double price) {
+    return webTestClient.post()
+        .uri("/auctions/bids/{id}", auctionId)
+        .header(AUTHORIZATION, token(username))
+        .bodyValue(new BidRequest(quantity, toTicks(price)))
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(BidResponse.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  private static String token(String username) {
+    return "Bearer " + username + ":" + PASSWORD;
+  }
+}
@@ -0,0 +1,15 @@
+package com.weareadaptive.auction.controller;
+
+import com.weareadaptive.auction.controller.dto.AllocationResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.model.Allocation;
+import java.util.stream.Stream;
+
+public class AllocationMapper {
+  public static AllocationResponse map(Allocation allocation) {
+    Stream<BidResponse> bidResponses = allocation.winningBids().stream()
+        .map(winningBid -> BidMapper.mapBid(winningBid.originalBid()));
+    return new AllocationResponse(bidResponses, allocation.totalSoldQuantity(),
+        allocation.totalRevenue(), allocation.clearingPrice());
+  }
+}
@@ -1,8 +1,8 @@
 package com.weareadaptive.auction.controller;
 
-import static com.weareadaptive.auction.controller.AuctionMapper.map;
-import static com.weareadaptive.auction.controller.BidMapper.mapBid;
-
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weareadaptive.auction.controller.dto.AllocationResponse;
+import com.weareadaptive.auction.controller.dto.AuctionBidRequest;
 import com.weareadaptive.auction.controller.dto.AuctionResponse;
 import com.weareadaptive.auction.controller.dto.BidRequest;
 import com.weareadaptive.auction.controller.dto.BidResponse;
@@ -10,80 +10,203 @@ import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
 import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
 import com.weareadaptive.auction.exception.EntityNotFoundException;
 import com.weareadaptive.auction.model.AuctionLot;
-import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BidOrder;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.repository.AuctionFilter;
 import com.weareadaptive.auction.service.AuctionLotService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 @RestController
 @RequestMapping("/auctions")
 @PreAuthorize("hasRole('ROLE_USER')")
+@Validated
 public class AuctionLotController {
+  public static final String NEXT_CURSOR = "X-Next-Cursor";
   private final AuctionLotService auctionLotService;
+  private final Duration streamTimeout;
+  private final ObjectMapper objectMapper;
 
-  public AuctionLotController(AuctionLotService auctionLotService) {
+  public AuctionLotController(AuctionLotService auctionLotService,
+                              @Value("${auction.stream.timeout:PT30M}") Duration streamTimeout,
+                              ObjectMapper objectMapper) {
     this.auctionLotService = auctionLotService;
+    this.streamTimeout = streamTimeout;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
-  public AuctionResponse create(@RequestBody @Valid CreateAuctionRequest createAuctionRequest,
-                                Principal principal) {
-    return map(auctionLotService.create(principal.getName(), createAuctionRequest.symbol(),
-        createAuctionRequest.quantity(), createAuctionRequest.minPrice()));
+  public CompletableFuture<AuctionResponse> create(
+      @RequestBody @Valid CreateAuctionRequest createAuctionRequest, Principal principal) {
+    return auctionLotService.createAsync(principal.getName(), createAuctionRequest.symbol(),
+        createAuctionRequest.quantity(), createAuctionRequest.minPrice(),
+        createAuctionRequest.closingTime())
+        .thenApply(AuctionMapper::map);
+
+  }
 
+  @GetMapping
+  public ResponseEntity<Stream<AuctionResponse>> getAuctions(
+      @RequestParam(required = false) String symbol,
+      @RequestParam(required = false) AuctionLot.Status status,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam(required = false) Integer limit) {
+    var auctionPage = auctionLotService.getAuctions(
+        filter(null, symbol, status, minPrice), cursor, limit);
+    return page(auctionPage.auctions().stream(), auctionPage.nextCursor());
   }
 
   @GetMapping("/owner")
-  public Stream<AuctionResponse> getAllUserAuctions(Principal principal) {
-    return auctionLotService.getAllAuctions(principal.getName()).stream().map(AuctionMapper::map);
+  public ResponseEntity<Stream<AuctionResponse>> getAllUserAuctions(
+      Principal principal,
+      @RequestParam(required = false) String symbol,
+      @RequestParam(required = false) AuctionLot.Status status,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam(required = false) Integer limit) {
+    var auctionPage = auctionLotService.getAuctions(
+        filter(principal.getName(), symbol, status, minPrice), cursor, limit);
+    return page(auctionPage.auctions().stream(), auctionPage.nextCursor());
+  }
+
+  private static AuctionFilter filter(String owner, String symbol, AuctionLot.Status status,
+                                      BigDecimal minPrice) {
+    return new AuctionFilter(owner, symbol, status,
+        minPrice == null ? null : Price.toTicks(minPrice));
+  }
+
+  private static <T> ResponseEntity<Stream<T>> page(Stream<T> items, Integer nextCursor) {
+    var response = ResponseEntity.ok();
+    if (nextCursor != null) {
+      response.header(NEXT_CURSOR, String.valueOf(nextCursor));
+    }
+    return response.body(items);
   }
 
 
   @GetMapping("/{id}")
   public AuctionResponse getAuctionById(@PathVariable int id) {
-    AuctionLot auctionLot = auctionLotService.getAuctionById(id)
+    return auctionLotService.getAuctionResponse(id)
         .orElseThrow(() -> new EntityNotFoundException("Invalid Auction Id"));
-    return map(auctionLot);
   }
 
   @ResponseStatus(HttpStatus.CREATED)
   @PostMapping("/bids/{id}")
-  public BidResponse bid(@RequestBody @Valid BidRequest bidRequest, Principal principal,
-                         @PathVariable int id) {
+  public CompletableFuture<BidResponse> bid(@RequestBody @Valid BidRequest bidRequest,
+                                            Principal principal, @PathVariable int id) {
 
-    Bid bid =
-        auctionLotService.bid(id, principal.getName(), bidRequest.quantity(), bidRequest.price());
+    return auctionLotService
+        .bidAsync(id, principal.getName(), bidRequest.quantity(), bidRequest.price())
+        .thenApply(BidMapper::mapBid);
 
-    return mapBid(bid);
+  }
 
+  @ResponseStatus(HttpStatus.CREATED)
+  @PostMapping("/bids/{id}/batch")
+  public CompletableFuture<List<BidResponse>> bids(
+      @RequestBody List<@Valid BidRequest> bidRequests, Principal principal,
+      @PathVariable int id) {
+    var bidOrders = bidRequests.stream()
+        .map(bidRequest -> new BidOrder(id, bidRequest.quantity(), bidRequest.price()))
+        .toList();
+
+    return auctionLotService.bidsAsync(principal.getName(), bidOrders)
+        .thenApply(bids -> bids.stream().map(BidMapper::mapBid).toList());
+  }
+
+  @ResponseStatus(HttpStatus.CREATED)
+  @PostMapping("/bids/batch")
+  public CompletableFuture<List<BidResponse>> bids(
+      @RequestBody List<@Valid AuctionBidRequest> bidRequests, Principal principal) {
+    var bidOrders = bidRequests.stream()
+        .map(bidRequest -> new BidOrder(bidRequest.auctionId(), bidRequest.quantity(),
+            bidRequest.price()))
+        .toList();
+
+    return auctionLotService.bidsAsync(principal.getName(), bidOrders)
+        .thenApply(bids -> bids.stream().map(BidMapper::mapBid).toList());
   }
 
-  @ResponseStatus(HttpStatus.FOUND)
   @GetMapping("/bids/{id}")
-  public Stream<BidResponse> getAllAuctionBids(Principal principal, @PathVariable int id) {
-    return auctionLotService.getAllAuctionBids(principal.getName(), id).stream()
-        .map(BidMapper::mapBid);
+  public void getAllAuctionBids(Principal principal, @PathVariable int id,
+                                HttpServletResponse response) throws IOException {
+    auctionLotService.checkCanViewBids(principal.getName(), id);
+    response.setStatus(HttpStatus.FOUND.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    try (var generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+      generator.writeStartArray();
+      auctionLotService.forEachAuctionBid(id, bid -> {
+        try {
+          generator.writeObject(bid);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      generator.writeEndArray();
+    }
+  }
 
+  @GetMapping(value = "/bids/{id}", params = "limit")
+  public ResponseEntity<Stream<BidResponse>> getAuctionBids(
+      Principal principal,
+      @PathVariable int id,
+      @RequestParam(required = false) Integer cursor,
+      @RequestParam Integer limit) {
+    var bidPage = auctionLotService.getAuctionBids(principal.getName(), id, cursor, limit);
+    return page(bidPage.bids().stream(), bidPage.nextCursor());
   }
 
   @PutMapping("/{id}")
-  public ClosingSummaryResponse closeAuction(@PathVariable int id, Principal principal) {
+  public CompletableFuture<ClosingSummaryResponse> closeAuction(@PathVariable int id,
+                                                                Principal principal) {
 
 
-    return ClosingSummaryMapper.map(auctionLotService.closeAuction(id, principal.getName()), id);
+    return auctionLotService.closeAuctionAsync(id, principal.getName())
+        .thenApply(closingSummary -> ClosingSummaryMapper.map(closingSummary, id));
+  }
+
+  @GetMapping("/{id}/stream")
+  public SseEmitter stream(@PathVariable int id, Principal principal) {
+    var emitter = new SseEmitter(streamTimeout.toMillis());
+    var subscription =
+        auctionLotService.subscribe(id, principal.getName(), new SseAuctionSubscriber(emitter));
+    emitter.onCompletion(subscription::cancel);
+    emitter.onTimeout(subscription::cancel);
+    emitter.onError(error -> subscription.cancel());
+    return emitter;
+  }
+
+  @GetMapping("/{id}/provisional")
+  public AllocationResponse getProvisionalAllocation(Principal principal, @PathVariable int id) {
+    return AllocationMapper.map(
+        auctionLotService.getProvisionalAllocation(principal.getName(), id));
   }
 
   @GetMapping("/{id}/ClosingSummary")
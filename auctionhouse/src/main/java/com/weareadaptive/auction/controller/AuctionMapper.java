@@ -7,6 +7,6 @@ public class AuctionMapper {
   public static AuctionResponse map(AuctionLot auctionLot) {
     return new AuctionResponse(auctionLot.getId(), auctionLot.getOwner(),
       auctionLot.getSymbol(), auctionLot.getMinPrice(), auctionLot.getQuantity(),
-      auctionLot.getStatus());
+      auctionLot.getStatus(), auctionLot.getClosingTime());
   }
 }
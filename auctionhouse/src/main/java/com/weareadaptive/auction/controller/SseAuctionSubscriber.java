@@ -0,0 +1,33 @@
+package com.weareadaptive.auction.controller;
+
+import com.weareadaptive.auction.service.AuctionEvent;
+import com.weareadaptive.auction.service.AuctionEventStream;
+import java.io.IOException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class SseAuctionSubscriber implements AuctionEventStream.Subscriber {
+  private final SseEmitter emitter;
+
+  public SseAuctionSubscriber(SseEmitter emitter) {
+    this.emitter = emitter;
+  }
+
+  @Override
+  public void onEvent(AuctionEvent event) throws IOException {
+    if (event instanceof AuctionEvent.BidAccepted bidAccepted) {
+      emitter.send(SseEmitter.event()
+          .name("bid")
+          .data(BidMapper.mapBid(bidAccepted.bid())));
+    } else if (event instanceof AuctionEvent.AuctionClosed auctionClosed) {
+      emitter.send(SseEmitter.event()
+          .name("closed")
+          .data(ClosingSummaryMapper.map(auctionClosed.closingSummary(),
+              auctionClosed.auctionId())));
+    }
+  }
+
+  @Override
+  public void onComplete() {
+    emitter.complete();
+  }
+}
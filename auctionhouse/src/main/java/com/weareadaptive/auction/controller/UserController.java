@@ -7,7 +7,6 @@ import com.weareadaptive.auction.controller.dto.UpdateUserRequest;
 import com.weareadaptive.auction.controller.dto.UserResponse;
 import com.weareadaptive.auction.exception.EntityNotFoundException;
 import com.weareadaptive.auction.exception.UnauthorizedActivityException;
-import com.weareadaptive.auction.model.User;
 import com.weareadaptive.auction.service.UserService;
 import java.security.Principal;
 import java.util.stream.Stream;
@@ -47,17 +46,17 @@ public class UserController {
 
   @GetMapping("/{id}")
   UserResponse get(@PathVariable int id, Principal principal) {
-    User currentUser=userService.getByUsername(principal.getName()).get();
-    if(!currentUser.isAdmin()){
+    var currentUser = userService.getSummary(principal.getName()).orElseThrow();
+    if (!currentUser.admin()) {
       throw new UnauthorizedActivityException("User not Admin");
     }
-    User user = userService.get(id).orElseThrow(() -> new EntityNotFoundException("Invalid ID"));
-    return map(user);
+    return userService.getUserResponse(id)
+        .orElseThrow(() -> new EntityNotFoundException("Invalid ID"));
   }
 
   @GetMapping
   Stream<UserResponse> getAllUsers() {
-    return userService.getAllUsers().stream().map(UserMapper::map);
+    return userService.getAllUserResponses().stream();
   }
 
   @PutMapping("/{id}")
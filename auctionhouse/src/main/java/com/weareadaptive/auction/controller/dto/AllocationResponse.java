@@ -0,0 +1,9 @@
+package com.weareadaptive.auction.controller.dto;
+
+import java.util.stream.Stream;
+
+public record AllocationResponse(Stream<BidResponse> winningBids,
+                                 int totalSoldQuantity,
+                                 @DecimalPrice long totalRevenue,
+                                 @DecimalPrice Long clearingPrice) {
+}
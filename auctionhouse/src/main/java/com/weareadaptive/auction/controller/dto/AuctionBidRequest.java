@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.weareadaptive.auction.model.Price;
+import javax.validation.constraints.Min;
+
+public record AuctionBidRequest(
+                                @Min(1)
+                                int auctionId,
+
+                                @Min(1)
+                                int quantity,
+
+                                @Min(Price.TICKS_PER_UNIT)
+                                @DecimalPrice
+                                long price) {
+}
@@ -1,11 +1,13 @@
 package com.weareadaptive.auction.controller.dto;
 
 import com.weareadaptive.auction.model.AuctionLot;
+import java.time.Instant;
 
 public record AuctionResponse(int id,
                               String owner,
                               String symbol,
-                              double minPrice,
+                              @DecimalPrice long minPrice,
                               int quantity,
-                              AuctionLot.Status status) {
+                              AuctionLot.Status status,
+                              Instant closingTime) {
 }
@@ -1,11 +1,13 @@
 package com.weareadaptive.auction.controller.dto;
 
+import com.weareadaptive.auction.model.Price;
 import javax.validation.constraints.Min;
 
 public record BidRequest(
                          @Min(1)
                          int quantity,
 
-                         @Min(1)
-                         double price) {
+                         @Min(Price.TICKS_PER_UNIT)
+                         @DecimalPrice
+                         long price) {
 }
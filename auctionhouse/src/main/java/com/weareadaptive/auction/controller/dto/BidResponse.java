@@ -4,5 +4,5 @@ public record BidResponse(String ownerUsername,
                           int bidId,
                           int auctionId,
                           int quantity,
-                          Double price) {
+                          @DecimalPrice long price) {
 }
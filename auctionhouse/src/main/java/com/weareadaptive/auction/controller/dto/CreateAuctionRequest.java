@@ -1,5 +1,6 @@
 package com.weareadaptive.auction.controller.dto;
 
+import java.time.Instant;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Pattern;
@@ -15,9 +16,16 @@ public record CreateAuctionRequest(
 
 
       @Min(0)
-     double minPrice,
+      @DecimalPrice
+      long minPrice,
 
 
       @Min(0)
-      int quantity) {
+      int quantity,
+
+      Instant closingTime) {
+
+  public CreateAuctionRequest(String symbol, long minPrice, int quantity) {
+    this(symbol, minPrice, quantity, null);
+  }
 }
@@ -0,0 +1,21 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a price or revenue held in ticks, see {@link com.weareadaptive.auction.model.Price}, that
+ * is read and written as a decimal number in JSON.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonSerialize(using = DecimalPriceSerializer.class)
+@JsonDeserialize(using = DecimalPriceDeserializer.class)
+public @interface DecimalPrice {
+}
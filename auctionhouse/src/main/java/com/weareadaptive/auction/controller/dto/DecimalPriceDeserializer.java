@@ -0,0 +1,27 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.Price;
+import java.io.IOException;
+
+public class DecimalPriceDeserializer extends StdDeserializer<Long> {
+  public DecimalPriceDeserializer() {
+    super(Long.class);
+  }
+
+  @Override
+  public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+    if (!parser.currentToken().isNumeric()) {
+      return (Long) context.handleUnexpectedToken(Long.class, parser);
+    }
+    try {
+      return Price.toTicks(parser.getDecimalValue());
+    } catch (BusinessException e) {
+      throw InvalidFormatException.from(parser, e.getMessage(), parser.getText(), Long.class);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.weareadaptive.auction.model.Price;
+import java.io.IOException;
+
+public class DecimalPriceSerializer extends StdSerializer<Long> {
+  public DecimalPriceSerializer() {
+    super(Long.class);
+  }
+
+  @Override
+  public void serialize(Long ticks, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeNumber(Price.toDecimal(ticks));
+  }
+}
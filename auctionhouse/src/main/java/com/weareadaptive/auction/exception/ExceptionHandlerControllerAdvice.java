@@ -1,10 +1,13 @@
 package com.weareadaptive.auction.exception;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
 
 import com.weareadaptive.auction.model.BusinessException;
+import javax.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +30,20 @@ public class ExceptionHandlerControllerAdvice {
         BAD_REQUEST);
   }
 
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Object> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+
+    var invalidFields = ex.getConstraintViolations().stream()
+        .map(violation -> new InvalidField(violation.getPropertyPath().toString(),
+            violation.getMessage())).toList();
+
+    return new ResponseEntity<>(new BadRequestInvalidFieldsProblem(invalidFields), headers,
+        BAD_REQUEST);
+  }
+
   @ExceptionHandler(BusinessException.class)
   public ResponseEntity<Object> handleNotFoundException(BusinessException ex) {
     var headers = new HttpHeaders();
@@ -50,4 +67,14 @@ public class ExceptionHandlerControllerAdvice {
         new Problem(UNAUTHORIZED.value(), UNAUTHORIZED.name(), ex.getMessage()), headers,
         UNAUTHORIZED);
   }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Object> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+    var headers = new HttpHeaders();
+    headers.setContentType(APPLICATION_PROBLEM_JSON);
+    return new ResponseEntity<>(
+        new Problem(CONFLICT.value(), CONFLICT.name(), "Auction was modified concurrently"),
+        headers, CONFLICT);
+  }
 }
@@ -0,0 +1,50 @@
+package com.weareadaptive.auction.metrics;
+
+import com.weareadaptive.auction.exception.EntityNotFoundException;
+import com.weareadaptive.auction.exception.UnauthorizedActivityException;
+import com.weareadaptive.auction.model.BusinessException;
+import java.util.concurrent.CompletionException;
+import org.springframework.security.core.AuthenticationException;
+
+public enum Outcome {
+  SUCCESS,
+  BUSINESS_ERROR,
+  NOT_FOUND,
+  UNAUTHORIZED,
+  BAD_CREDENTIALS,
+  ERROR;
+
+  public static Outcome of(Throwable throwable) {
+    if (throwable == null) {
+      return SUCCESS;
+    }
+    var cause = unwrap(throwable);
+    if (cause instanceof BusinessException) {
+      return BUSINESS_ERROR;
+    }
+    if (cause instanceof EntityNotFoundException) {
+      return NOT_FOUND;
+    }
+    if (cause instanceof UnauthorizedActivityException) {
+      return UNAUTHORIZED;
+    }
+    if (cause instanceof AuthenticationException) {
+      return BAD_CREDENTIALS;
+    }
+    return ERROR;
+  }
+
+  public static String exceptionTag(Throwable throwable) {
+    return throwable == null ? "none" : unwrap(throwable).getClass().getSimpleName();
+  }
+
+  public String tag() {
+    return name().toLowerCase();
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable;
+  }
+}
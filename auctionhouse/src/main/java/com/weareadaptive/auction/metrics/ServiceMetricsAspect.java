@@ -0,0 +1,64 @@
+package com.weareadaptive.auction.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletionStage;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the service calls behind the REST API as {@code auction.service}, tagged with the
+ * service, the method (the {@code Async} variants are folded into their blocking counterparts)
+ * and the {@link Outcome}. Futures are timed until they complete, so the sequencer queueing is
+ * included.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+  public static final String METRIC_NAME = "auction.service";
+  private static final String ASYNC_SUFFIX = "Async";
+
+  private final MeterRegistry meterRegistry;
+
+  public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("execution(public * com.weareadaptive.auction.service.UserService.*(..))"
+      + " || execution(public * com.weareadaptive.auction.service.AuctionLotService.create*(..))"
+      + " || execution(public * com.weareadaptive.auction.service.AuctionLotService.bid*(..))"
+      + " || execution(public * com.weareadaptive.auction.service.AuctionLotService"
+      + ".closeAuction*(..))"
+      + " || execution(public * com.weareadaptive.auction.service.AuctionLotService"
+      + ".getClosingSummary(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    var sample = Timer.start(meterRegistry);
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable e) {
+      stop(sample, joinPoint, e);
+      throw e;
+    }
+    if (result instanceof CompletionStage<?> stage) {
+      return stage.whenComplete((value, e) -> stop(sample, joinPoint, e));
+    }
+    stop(sample, joinPoint, null);
+    return result;
+  }
+
+  private void stop(Timer.Sample sample, ProceedingJoinPoint joinPoint, Throwable throwable) {
+    var method = joinPoint.getSignature().getName();
+    if (method.endsWith(ASYNC_SUFFIX)) {
+      method = method.substring(0, method.length() - ASYNC_SUFFIX.length());
+    }
+    sample.stop(Timer.builder(METRIC_NAME)
+        .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+        .tag("method", method)
+        .tag("outcome", Outcome.of(throwable).tag())
+        .tag("exception", Outcome.exceptionTag(throwable))
+        .register(meterRegistry));
+  }
+}
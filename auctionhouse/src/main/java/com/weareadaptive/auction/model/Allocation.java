@@ -0,0 +1,10 @@
+package com.weareadaptive.auction.model;
+
+import java.util.List;
+
+public record Allocation(
+    List<WinningBid> winningBids,
+    int totalSoldQuantity,
+    long totalRevenue,
+    Long clearingPrice) {
+}
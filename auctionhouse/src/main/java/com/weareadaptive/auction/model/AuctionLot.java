@@ -6,9 +6,13 @@ import static org.apache.logging.log4j.util.Strings.isBlank;
 import java.time.Instant;
 import java.util.function.Supplier;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity(name = "Auction")
 public class AuctionLot {
@@ -16,15 +20,25 @@ public class AuctionLot {
 
   private static Supplier<Instant> timeProvider;
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auction_seq")
+  @SequenceGenerator(name = "auction_seq", sequenceName = "auction_seq", allocationSize = 50)
   private int id;
   private String owner;
   private String symbol;
-  private double minPrice;
+  private long minPrice;
   private int quantity;
+  @Enumerated(EnumType.STRING)
   private Status status;
+  private Instant closingTime;
+  @Version
+  private long version;
 
-  public AuctionLot(String owner, String symbol, int quantity, double minPrice) {
+  public AuctionLot(String owner, String symbol, int quantity, long minPrice) {
+    this(owner, symbol, quantity, minPrice, null);
+  }
+
+  public AuctionLot(String owner, String symbol, int quantity, long minPrice,
+                    Instant closingTime) {
     if (owner == null) {
       throw new BusinessException("owner cannot be null");
     }
@@ -37,11 +51,16 @@ public class AuctionLot {
     if (quantity < 0) {
       throw new BusinessException("quantity must be above 0");
     }
+    if (minPrice > Price.maxPrice(quantity)) {
+      throw new BusinessException("minPrice cannot be above "
+          + Price.toDecimal(Price.maxPrice(quantity)));
+    }
 
     this.owner = owner;
     this.symbol = symbol.toUpperCase().trim();
     this.quantity = quantity;
     this.minPrice = minPrice;
+    this.closingTime = closingTime;
     status = Status.OPENED;
     timeProvider = Instant::now;
   }
@@ -54,6 +73,10 @@ public class AuctionLot {
     return status;
   }
 
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
   public String getOwner() {
     return owner;
   }
@@ -67,7 +90,14 @@ public class AuctionLot {
     return id;
   }
 
-  public double getMinPrice() {
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  /**
+   * The minimum price in ticks, see {@link Price}.
+   */
+  public long getMinPrice() {
     return minPrice;
   }
 
@@ -75,6 +105,18 @@ public class AuctionLot {
     return quantity;
   }
 
+  public Instant getClosingTime() {
+    return closingTime;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
 
   @Override
   public String toString() {
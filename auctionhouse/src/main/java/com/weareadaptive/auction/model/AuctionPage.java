@@ -0,0 +1,7 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import java.util.List;
+
+public record AuctionPage(List<AuctionResponse> auctions, Integer nextCursor) {
+}
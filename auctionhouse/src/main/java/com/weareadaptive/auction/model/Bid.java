@@ -2,9 +2,13 @@ package com.weareadaptive.auction.model;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity(name = "Bids")
 public class Bid {
@@ -12,16 +16,20 @@ public class Bid {
 
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bids_seq")
+  @SequenceGenerator(name = "bids_seq", sequenceName = "bids_seq", allocationSize = 50)
   private int bidId;
 
   private int id;
 
   private String  owner;
   private int quantity;
-  private double price;
+  private long price;
+  @Enumerated(EnumType.STRING)
   private State state;
   private int winQuantity;
+  @Version
+  private long version;
 
   public int getId() {
     return id;
@@ -31,7 +39,7 @@ public class Bid {
     this.id = auctionId;
   }
 
-  public Bid(int auctionId,String owner, int quantity, double price) {
+  public Bid(int auctionId,String owner, int quantity, long price) {
     if (owner == null) {
       throw new BusinessException("user cannot be null");
     }
@@ -44,6 +52,12 @@ public class Bid {
       throw new BusinessException("quantity must be above 0");
     }
 
+    try {
+      Price.revenue(quantity, price);
+    } catch (ArithmeticException e) {
+      throw new BusinessException("quantity times price is too large");
+    }
+
     this.id=auctionId;
     this.price = price;
     this.owner = owner;
@@ -63,7 +77,10 @@ public class Bid {
     return owner;
   }
 
-  public double getPrice() {
+  /**
+   * The price in ticks, see {@link Price}.
+   */
+  public long getPrice() {
     return price;
   }
 
@@ -108,7 +125,7 @@ public class Bid {
   public String toString() {
     return "Bid{"
       + "owner=" + owner
-      + ", price=" + price
+      + ", price=" + Price.toDecimal(price)
       + ", quantity=" + quantity
       + '}';
   }
@@ -0,0 +1,4 @@
+package com.weareadaptive.auction.model;
+
+public record BidOrder(int auctionId, int quantity, long price) {
+}
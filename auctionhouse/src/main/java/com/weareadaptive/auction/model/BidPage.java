@@ -0,0 +1,7 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import java.util.List;
+
+public record BidPage(List<BidResponse> bids, Integer nextCursor) {
+}
@@ -0,0 +1,91 @@
+package com.weareadaptive.auction.model;
+
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
+import javax.persistence.Table;
+
+@Entity(name = "ClosedAuction")
+@Table(name = "closing_summary")
+public class ClosedAuction {
+  @Id
+  private int auctionId;
+  private int totalSoldQuantity;
+  private long totalRevenue;
+  private Instant closingTime;
+
+  @ElementCollection
+  @CollectionTable(name = "winning_bid", joinColumns = @JoinColumn(name = "auction_id"))
+  @OrderColumn(name = "position")
+  private List<Allocation> allocations;
+
+  public ClosedAuction(int auctionId, ClosingSummary closingSummary) {
+    this(auctionId, closingSummary.totalSoldQuantity(), closingSummary.totalRevenue(),
+        closingSummary.closingTime(), closingSummary.winningBids().stream()
+            .map(winningBid -> new Allocation(winningBid.originalBid().getBidId(),
+                winningBid.quantity()))
+            .toList());
+  }
+
+  public ClosedAuction(int auctionId, int totalSoldQuantity, long totalRevenue,
+                       Instant closingTime, List<Allocation> allocations) {
+    this.auctionId = auctionId;
+    this.totalSoldQuantity = totalSoldQuantity;
+    this.totalRevenue = totalRevenue;
+    this.closingTime = closingTime;
+    this.allocations = allocations;
+  }
+
+  public ClosedAuction() {
+
+  }
+
+  public int getAuctionId() {
+    return auctionId;
+  }
+
+  public int getTotalSoldQuantity() {
+    return totalSoldQuantity;
+  }
+
+  public long getTotalRevenue() {
+    return totalRevenue;
+  }
+
+  public Instant getClosingTime() {
+    return closingTime;
+  }
+
+  public List<Allocation> getAllocations() {
+    return allocations;
+  }
+
+  @Embeddable
+  public static class Allocation {
+    private int bidId;
+    private int quantity;
+
+    public Allocation(int bidId, int quantity) {
+      this.bidId = bidId;
+      this.quantity = quantity;
+    }
+
+    public Allocation() {
+
+    }
+
+    public int getBidId() {
+      return bidId;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+  }
+}
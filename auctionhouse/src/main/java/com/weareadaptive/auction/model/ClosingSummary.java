@@ -1,6 +1,5 @@
 package com.weareadaptive.auction.model;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import javax.persistence.Column;
@@ -11,6 +10,6 @@ import javax.persistence.Id;
 public record ClosingSummary(
     List<WinningBid> winningBids,
     int totalSoldQuantity,
-    BigDecimal totalRevenue,
+    long totalRevenue,
     Instant closingTime) {
 }
@@ -1,4 +1,4 @@
 package com.weareadaptive.auction.model;
 
-public record LostBid(int auctionLotId, String symbol, int quantity, double price) {
+public record LostBid(int auctionLotId, String symbol, int quantity, long price) {
 }
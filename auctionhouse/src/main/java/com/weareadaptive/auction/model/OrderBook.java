@@ -0,0 +1,111 @@
+package com.weareadaptive.auction.model;
+
+import static java.lang.Math.min;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The open bids of an auction in close priority, together with the allocation the auction would
+ * close with. The allocation is kept up to date as bids are added: {@code marginalBid} is the
+ * lowest priority bid that is still allocated and sets the clearing price, and every bid before it
+ * is filled in full. Adding a bid moves the marginal bid at most past the bids it displaces, so the
+ * cost stays O(log n) amortised. An auction of quantity zero never has a marginal bid, so every bid
+ * on it loses. Revenue is summed in price ticks with overflow-checked long arithmetic, so the loop
+ * allocates nothing beyond the winning bids themselves. The quantity filled before the marginal
+ * bid is a long, as a bid may pass the auction's quantity by up to a whole int before the marginal
+ * bid moves back.
+ */
+public class OrderBook {
+  public static final Comparator<Bid> BID_PRIORITY =
+      comparingLong(Bid::getPrice).reversed()
+          .thenComparing(comparingInt(Bid::getQuantity).reversed())
+          .thenComparingInt(Bid::getBidId);
+
+  private final AuctionLot auctionLot;
+  private final NavigableSet<Bid> bids;
+  private Bid marginalBid;
+  private long filledBeforeMarginal;
+
+  public OrderBook(AuctionLot auctionLot) {
+    this(auctionLot, List.of());
+  }
+
+  public OrderBook(AuctionLot auctionLot, List<Bid> bids) {
+    if (auctionLot == null) {
+      throw new BusinessException("auctionLot cannot be null");
+    }
+    this.auctionLot = auctionLot;
+    this.bids = new TreeSet<>(BID_PRIORITY);
+    bids.forEach(this::insert);
+  }
+
+  public AuctionLot getAuctionLot() {
+    return auctionLot;
+  }
+
+  public synchronized void add(Bid bid) {
+    if (bid.getId() != auctionLot.getId()) {
+      throw new BusinessException("Bid does not belong to this auction");
+    }
+    insert(bid);
+  }
+
+  public synchronized List<Bid> orderedBids() {
+    return new ArrayList<>(bids);
+  }
+
+  public synchronized int size() {
+    return bids.size();
+  }
+
+  public synchronized Allocation allocation() {
+    if (marginalBid == null) {
+      return new Allocation(List.of(), 0, 0, null);
+    }
+    var winningBids = new ArrayList<WinningBid>();
+    var revenue = 0L;
+    for (Bid bid : bids.headSet(marginalBid, false)) {
+      winningBids.add(new WinningBid(bid.getQuantity(), bid));
+      revenue = Price.addRevenue(revenue, bid.getQuantity(), bid.getPrice());
+    }
+    var marginalQuantity = marginalQuantity();
+    winningBids.add(new WinningBid(marginalQuantity, marginalBid));
+    revenue = Price.addRevenue(revenue, marginalQuantity, marginalBid.getPrice());
+
+    return new Allocation(unmodifiableList(winningBids),
+        (int) filledBeforeMarginal + marginalQuantity, revenue, marginalBid.getPrice());
+  }
+
+  private void insert(Bid bid) {
+    if (!bids.add(bid) || auctionLot.getQuantity() == 0) {
+      return;
+    }
+    if (marginalBid == null) {
+      marginalBid = bid;
+      return;
+    }
+    if (BID_PRIORITY.compare(bid, marginalBid) > 0) {
+      if (filledBeforeMarginal + marginalBid.getQuantity() < auctionLot.getQuantity()) {
+        filledBeforeMarginal += marginalBid.getQuantity();
+        marginalBid = bid;
+      }
+      return;
+    }
+    filledBeforeMarginal += bid.getQuantity();
+    while (filledBeforeMarginal >= auctionLot.getQuantity()) {
+      marginalBid = bids.lower(marginalBid);
+      filledBeforeMarginal -= marginalBid.getQuantity();
+    }
+  }
+
+  private int marginalQuantity() {
+    return (int) min(marginalBid.getQuantity(), auctionLot.getQuantity() - filledBeforeMarginal);
+  }
+}
@@ -0,0 +1,56 @@
+package com.weareadaptive.auction.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Prices and revenues are fixed-point longs counting ticks of 1/10000, the scale closing summaries
+ * have always been stored with, so a price of 12.5 is held as 125000. Decimals only appear at the
+ * edges: parsing a request and writing a response. Arithmetic on ticks is exact, and the
+ * revenue methods throw {@link ArithmeticException} rather than wrap around. Prices on an auction
+ * are capped by {@link #maxPrice}, so its total revenue always fits as well.
+ */
+public final class Price {
+  public static final int SCALE = 4;
+  public static final long TICKS_PER_UNIT = 10_000L;
+
+  private Price() {
+  }
+
+  /**
+   * Converts a decimal price to ticks, rejecting prices finer than a tick or too large to fit.
+   */
+  public static long toTicks(BigDecimal price) {
+    try {
+      return price.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new BusinessException(
+          "price must have at most " + SCALE + " decimal places and fit in a long of ticks");
+    }
+  }
+
+  public static long toTicks(double price) {
+    return toTicks(BigDecimal.valueOf(price));
+  }
+
+  public static BigDecimal toDecimal(long ticks) {
+    return BigDecimal.valueOf(ticks, SCALE);
+  }
+
+  /**
+   * The highest price an auction of the given quantity accepts. Its winners never buy more than
+   * that quantity, so their revenue cannot exceed the quantity times this price, which fits in a
+   * long.
+   */
+  public static long maxPrice(int auctionQuantity) {
+    return auctionQuantity == 0 ? Long.MAX_VALUE : Long.MAX_VALUE / auctionQuantity;
+  }
+
+  public static long revenue(int quantity, long price) {
+    return Math.multiplyExact(quantity, price);
+  }
+
+  public static long addRevenue(long revenue, int quantity, long price) {
+    return Math.addExact(revenue, revenue(quantity, price));
+  }
+}
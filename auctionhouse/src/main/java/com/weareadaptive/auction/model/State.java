@@ -1,43 +1,252 @@
 package com.weareadaptive.auction.model;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class State<T extends Entity> {
+/**
+ * Entities keyed by a positive int id in an open-addressing table with linear probing. Writers are
+ * serialised on the state and publish each slot with a release write, so readers probe without
+ * locking and never see a half-written entry. Entries are never removed, so probing needs no
+ * tombstones, and growing copies into a new table that is published with one volatile write.
+ * Secondary indexes map a key, such as an owner, to the ids of its entities in insertion order.
+ * Storing an id that did not come from {@link #nextId()}, such as one restored from disk, moves
+ * the allocator past it. A write listener sees every entity as it is stored, under the lock of the
+ * state, so it sees the writes of a state in the order readers do.
+ */
+public class State<T> {
   public static final String ITEM_ALREADY_EXISTS = "Item already exists";
-  private final Map<Integer, T> entities;
-  private int currentId = 1;
+  private static final int EMPTY = 0;
+  private static final int INITIAL_CAPACITY = 64;
 
-  public State() {
-    entities = new HashMap<>();
+  private final ToIntFunction<T> idOf;
+  private final AtomicInteger currentId = new AtomicInteger(1);
+  private final List<Index<T, ?>> indexes = new ArrayList<>();
+  private volatile Table<T> table = new Table<>(INITIAL_CAPACITY);
+  private volatile int size;
+  private Consumer<T> writeListener = model -> {
+  };
+
+  public State(ToIntFunction<T> idOf) {
+    this.idOf = idOf;
   }
 
   public int nextId() {
-    return currentId++;
+    return currentId.getAndIncrement();
+  }
+
+  /**
+   * The highest id handed out by {@link #nextId()}, which lets callers walk the entities from
+   * newest to oldest.
+   */
+  public int lastId() {
+    return currentId.get() - 1;
+  }
+
+  void setNextId(int id) {
+    currentId.set(id);
   }
 
   protected void onAdd(T model) {
 
   }
 
-  public void add(T model) {
-    if (entities.containsKey(model.getId())) {
+  public synchronized void add(T model) {
+    var id = id(model);
+    if (table.find(id) >= 0) {
       throw new BusinessException(ITEM_ALREADY_EXISTS);
     }
     onAdd(model);
-    entities.put(model.getId(), model);
+    insert(id, model);
+    indexes.forEach(index -> index.add(model, id));
+    writeListener.accept(model);
   }
 
-  void setNextId(int id) {
-    this.currentId = id;
+  /**
+   * Adds the entity, or replaces the one stored under its id. Replacing republishes the entity,
+   * so changes made to it before the call are visible to readers that get it afterwards.
+   */
+  public synchronized void put(T model) {
+    var id = id(model);
+    var slot = table.find(id);
+    if (slot >= 0) {
+      table.entities.setRelease(slot, model);
+    } else {
+      onAdd(model);
+      insert(id, model);
+      indexes.forEach(index -> index.add(model, id));
+    }
+    writeListener.accept(model);
+  }
+
+  public synchronized void setWriteListener(Consumer<T> writeListener) {
+    this.writeListener = writeListener;
   }
 
   public T get(int id) {
-    return entities.get(id);
+    return table.get(id);
+  }
+
+  public int size() {
+    return size;
   }
 
   public Stream<T> stream() {
-    return entities.values().stream();
+    var current = table;
+    return IntStream.range(0, current.capacity())
+        .filter(slot -> current.ids.getAcquire(slot) != EMPTY)
+        .mapToObj(current.entities::getAcquire);
+  }
+
+  /**
+   * Registers a secondary index. Indexes only see entities added after they are registered, so
+   * they should be created before the state is used. The key of an entity must not change once it
+   * is added.
+   */
+  public synchronized <K> Index<T, K> index(Function<T, K> key) {
+    var index = new Index<>(key);
+    indexes.add(index);
+    return index;
+  }
+
+  private int id(T model) {
+    var id = idOf.applyAsInt(model);
+    if (id <= EMPTY) {
+      throw new BusinessException("id must be above 0");
+    }
+    return id;
+  }
+
+  private void insert(int id, T model) {
+    if ((size + 1) * 2 > table.capacity()) {
+      table = table.grow();
+    }
+    table.insert(id, model);
+    size++;
+    currentId.accumulateAndGet(id + 1, Math::max);
+  }
+
+  private static final class Table<T> {
+    private final AtomicIntegerArray ids;
+    private final AtomicReferenceArray<T> entities;
+    private final int mask;
+
+    private Table(int capacity) {
+      ids = new AtomicIntegerArray(capacity);
+      entities = new AtomicReferenceArray<>(capacity);
+      mask = capacity - 1;
+    }
+
+    private int capacity() {
+      return mask + 1;
+    }
+
+    private T get(int id) {
+      for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+        var current = ids.getAcquire(slot);
+        if (current == id) {
+          return entities.getAcquire(slot);
+        }
+        if (current == EMPTY) {
+          return null;
+        }
+      }
+    }
+
+    private int find(int id) {
+      for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+        var current = ids.getPlain(slot);
+        if (current == id) {
+          return slot;
+        }
+        if (current == EMPTY) {
+          return -1;
+        }
+      }
+    }
+
+    private void insert(int id, T model) {
+      var slot = hash(id) & mask;
+      while (ids.getPlain(slot) != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      entities.setPlain(slot, model);
+      ids.setRelease(slot, id);
+    }
+
+    private Table<T> grow() {
+      var grown = new Table<T>(capacity() * 2);
+      for (int slot = 0; slot < capacity(); slot++) {
+        var id = ids.getPlain(slot);
+        if (id != EMPTY) {
+          grown.insert(id, entities.getPlain(slot));
+        }
+      }
+      return grown;
+    }
+
+    private static int hash(int id) {
+      var hash = id * 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+    }
+  }
+
+  /**
+   * Ids of entities by key, in the order they were added. Appends happen under the lock of the
+   * state; readers take a snapshot of the ids without locking.
+   */
+  public static final class Index<T, K> {
+    private final Function<T, K> key;
+    private final Map<K, IdList> ids = new ConcurrentHashMap<>();
+
+    private Index(Function<T, K> key) {
+      this.key = key;
+    }
+
+    public int[] get(K key) {
+      var list = ids.get(key);
+      return list == null ? new int[0] : list.toArray();
+    }
+
+    private void add(T model, int id) {
+      var value = key.apply(model);
+      if (value != null) {
+        ids.computeIfAbsent(value, k -> new IdList()).add(id);
+      }
+    }
+  }
+
+  private static final class IdList {
+    private volatile int[] ids = new int[4];
+    private volatile int size;
+
+    private void add(int id) {
+      var current = ids;
+      if (size == current.length) {
+        var grown = new int[current.length * 2];
+        System.arraycopy(current, 0, grown, 0, size);
+        grown[size] = id;
+        ids = grown;
+      } else {
+        current[size] = id;
+      }
+      size++;
+    }
+
+    private int[] toArray() {
+      var count = size;
+      var snapshot = new int[count];
+      System.arraycopy(ids, 0, snapshot, 0, count);
+      return snapshot;
+    }
   }
 }
@@ -7,12 +7,15 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 
 @Entity(name = "AuctionUser")
 public class User {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auction_user_seq")
+  @SequenceGenerator(name = "auction_user_seq", sequenceName = "auction_user_seq", allocationSize = 50)
   private int id;
   private String username;
   private String password;
@@ -21,6 +24,8 @@ public class User {
   private String lastName;
   private String organisation;
   private boolean blocked;
+  @Version
+  private long version;
 
   public User(String username, String password, String firstName, String lastName,
               String organisation) {
@@ -128,4 +133,12 @@ public class User {
     this.blocked = blocked;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
 }
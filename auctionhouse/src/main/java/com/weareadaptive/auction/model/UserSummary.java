@@ -0,0 +1,5 @@
+package com.weareadaptive.auction.model;
+
+public record UserSummary(int id, String username, boolean admin, boolean blocked,
+                          String organisation) {
+}
@@ -5,5 +5,5 @@ public record WonBid(
     String symbol,
     int wonQuantity,
     int bidQuantity,
-    double price) {
+    long price) {
 }
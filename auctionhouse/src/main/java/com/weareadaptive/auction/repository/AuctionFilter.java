@@ -0,0 +1,7 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.model.AuctionLot;
+
+public record AuctionFilter(String owner, String symbol, AuctionLot.Status status,
+                            Long minPrice) {
+}
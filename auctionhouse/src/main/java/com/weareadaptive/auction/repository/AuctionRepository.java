@@ -1,24 +1,50 @@
 package com.weareadaptive.auction.repository;
 
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
 import com.weareadaptive.auction.model.AuctionLot;
 import java.util.List;
+import java.util.Optional;
 import javax.transaction.Transactional;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.Repository;
 
-@Repository
-public interface AuctionRepository extends JpaRepository<AuctionLot,Integer> {
+public interface AuctionRepository extends Repository<AuctionLot, Integer>, AuctionSearch {
+
+  <S extends AuctionLot> S save(S auctionLot);
+
+  Optional<AuctionLot> findById(Integer id);
 
   @Transactional
   @Query("select a from Auction a where a.owner=?1")
   List<AuctionLot> getAllUserAuctions(String username);
 
+  @Transactional
+  @Query("select new com.weareadaptive.auction.controller.dto.AuctionResponse(a.id, a.owner,"
+      + " a.symbol, a.minPrice, a.quantity, a.status, a.closingTime) from Auction a where a.id=?1")
+  Optional<AuctionResponse> getAuctionResponse(int id);
+
+  @Transactional
+  @Query("select a from Auction a where a.status=?1 and a.closingTime is not null")
+  List<AuctionLot> getScheduledAuctions(AuctionLot.Status status);
+
+  /**
+   * Bumps the version of the auction if it still has the given one and returns the number of rows
+   * updated, which is zero when the auction was bid on or closed by another node since. The row
+   * stays locked until the calling transaction commits, so a concurrent close waits for it.
+   */
+  @Modifying
+  @Transactional
+  @Query("update Auction set version = version + 1 where id = ?1 and version = ?2")
+  int updateVersion(int id, long version);
 
+  /**
+   * Moves the auction from one status to another and returns the number of rows updated, which is
+   * zero when a concurrent transaction changed the status first.
+   */
   @Modifying
   @Transactional
-  @Query("update Auction set status=?2 where id=?1")
-  void close(int id, AuctionLot.Status closed);
+  @Query("update Auction set status = ?3, version = version + 1 where id = ?1 and status = ?2")
+  int updateStatus(int id, AuctionLot.Status from, AuctionLot.Status to);
 }
 
@@ -0,0 +1,12 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import java.util.List;
+
+public interface AuctionSearch {
+  /**
+   * Returns up to {@code limit} auctions matching the filter, newest first, starting after the
+   * auction with id {@code before} when it is given. Only the response columns are selected.
+   */
+  List<AuctionResponse> search(AuctionFilter filter, Integer before, int limit);
+}
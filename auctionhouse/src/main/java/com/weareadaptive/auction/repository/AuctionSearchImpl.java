@@ -0,0 +1,49 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.Predicate;
+
+public class AuctionSearchImpl implements AuctionSearch {
+  private final EntityManager entityManager;
+
+  public AuctionSearchImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<AuctionResponse> search(AuctionFilter filter, Integer before, int limit) {
+    var builder = entityManager.getCriteriaBuilder();
+    var query = builder.createQuery(AuctionResponse.class);
+    var auction = query.from(AuctionLot.class);
+    query.select(builder.construct(AuctionResponse.class, auction.get("id"), auction.get("owner"),
+        auction.get("symbol"), auction.get("minPrice"), auction.get("quantity"),
+        auction.get("status"), auction.get("closingTime")));
+
+    var predicates = new ArrayList<Predicate>();
+    if (filter.owner() != null) {
+      predicates.add(builder.equal(auction.get("owner"), filter.owner()));
+    }
+    if (filter.symbol() != null) {
+      predicates.add(builder.equal(auction.get("symbol"), filter.symbol()));
+    }
+    if (filter.status() != null) {
+      predicates.add(builder.equal(auction.get("status"), filter.status()));
+    }
+    if (filter.minPrice() != null) {
+      predicates.add(builder.greaterThanOrEqualTo(auction.get("minPrice"), filter.minPrice()));
+    }
+    if (before != null) {
+      predicates.add(builder.lessThan(auction.get("id"), before));
+    }
+    query.where(predicates.toArray(Predicate[]::new))
+        .orderBy(builder.desc(auction.get("id")));
+
+    return entityManager.createQuery(query)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+}
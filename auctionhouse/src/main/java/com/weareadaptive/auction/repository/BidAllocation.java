@@ -0,0 +1,17 @@
+package com.weareadaptive.auction.repository;
+
+public interface BidAllocation {
+  int getBidId();
+
+  String getOwner();
+
+  int getQuantity();
+
+  long getPrice();
+
+  int getWinQuantity();
+
+  int getTotalSoldQuantity();
+
+  long getTotalRevenue();
+}
@@ -0,0 +1,43 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.model.Bid;
+import java.util.List;
+import javax.transaction.Transactional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * The set-based allocation behind {@code auction.close-engine=sql}. It is a PostgreSQL query, so
+ * the in-memory profile has no implementation and refuses the SQL close engine at startup.
+ */
+public interface BidAllocationRepository extends Repository<Bid, Integer> {
+
+  @Transactional
+  @Query(value = """
+      WITH ranked AS (
+        SELECT bid_id,
+               sum(quantity) OVER (ORDER BY price DESC, quantity DESC, bid_id
+                                   ROWS UNBOUNDED PRECEDING) - quantity AS filled_before
+        FROM bids
+        WHERE id = :auctionId AND state = 'PENDING'
+      ), closed AS (
+        UPDATE bids b
+        SET state = CASE WHEN r.filled_before < :quantity THEN 'WIN' ELSE 'LOST' END,
+            win_quantity = greatest(least(b.quantity, :quantity - r.filled_before), 0),
+            version = b.version + 1
+        FROM ranked r
+        WHERE b.bid_id = r.bid_id
+        RETURNING b.bid_id, b.owner, b.quantity, b.price, b.state, b.win_quantity
+      )
+      SELECT bid_id AS "bidId", owner, CAST(quantity AS integer) AS "quantity", price,
+             CAST(win_quantity AS integer) AS "winQuantity",
+             CAST(sum(win_quantity) OVER () AS integer) AS "totalSoldQuantity",
+             CAST(sum(CAST(win_quantity AS bigint) * price) OVER () AS bigint) AS "totalRevenue"
+      FROM closed
+      WHERE state = 'WIN'
+      ORDER BY price DESC, quantity DESC, bid_id
+      """, nativeQuery = true)
+  List<BidAllocation> allocate(@Param("auctionId") int auctionId,
+                               @Param("quantity") int quantity);
+}
@@ -1,18 +1,47 @@
 package com.weareadaptive.auction.repository;
 
+import com.weareadaptive.auction.controller.dto.BidResponse;
 import com.weareadaptive.auction.model.Bid;
 import java.util.List;
 import javax.transaction.Transactional;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.Repository;
 
-@Repository
-public interface BidRepository extends JpaRepository<Bid,Integer> {
+public interface BidRepository extends Repository<Bid, Integer>, BidStreaming {
 
+  <S extends Bid> S save(S bid);
+
+  <S extends Bid> List<S> saveAll(Iterable<S> bids);
+
+  List<Bid> findAllById(Iterable<Integer> ids);
 
   @Transactional
-  @Query("select b from Bids b where b.id=?1")
-  List<Bid> getAllAuctionBids( int id);
+  @Query("select b from Bids b where b.id=?1 order by b.price desc, b.quantity desc, b.bidId")
+  List<Bid> getAllAuctionBids(int id);
 
+  @Transactional
+  @Query("select new com.weareadaptive.auction.controller.dto.BidResponse(b.owner, b.bidId,"
+      + " b.id, b.quantity, b.price) from Bids b where b.id=?1"
+      + " order by b.price desc, b.quantity desc, b.bidId")
+  List<BidResponse> getAuctionBids(int id, Pageable pageable);
+
+  @Transactional
+  @Query("select new com.weareadaptive.auction.controller.dto.BidResponse(b.owner, b.bidId,"
+      + " b.id, b.quantity, b.price) from Bids b, Bids c where b.id=?1 and c.id=?1 and c.bidId=?2"
+      + " and (b.price < c.price or (b.price = c.price and (b.quantity < c.quantity"
+      + " or (b.quantity = c.quantity and b.bidId > c.bidId))))"
+      + " order by b.price desc, b.quantity desc, b.bidId")
+  List<BidResponse> getAuctionBidsAfter(int id, int bidId, Pageable pageable);
+
+  @Transactional
+  @Query("select count(b) from Bids b where b.id = ?1 and b.state = ?2")
+  long countByState(int auctionId, Bid.State state);
+
+  @Modifying
+  @Transactional
+  @Query(value = "update bids set state = 'LOST', version = version + 1"
+      + " where id = ?1 and state = 'PENDING'", nativeQuery = true)
+  void losePendingBids(int auctionId);
 }
@@ -0,0 +1,15 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import java.util.function.Consumer;
+import javax.transaction.Transactional;
+
+public interface BidStreaming {
+  /**
+   * Passes every bid of the auction, in close priority, to {@code action} while reading them
+   * from a database cursor. Bids are read straight into responses rather than managed entities,
+   * so memory use does not grow with the number of bids.
+   */
+  @Transactional
+  void forEachAuctionBid(int auctionId, Consumer<BidResponse> action);
+}
@@ -0,0 +1,31 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+
+public class BidStreamingImpl implements BidStreaming {
+  private final EntityManager entityManager;
+  private final int fetchSize;
+
+  public BidStreamingImpl(EntityManager entityManager,
+                          @Value("${auction.bids.stream-fetch-size:500}") int fetchSize) {
+    this.entityManager = entityManager;
+    this.fetchSize = fetchSize;
+  }
+
+  @Override
+  public void forEachAuctionBid(int auctionId, Consumer<BidResponse> action) {
+    try (var bids = entityManager.createQuery(
+            "select new com.weareadaptive.auction.controller.dto.BidResponse(b.owner, b.bidId,"
+                + " b.id, b.quantity, b.price) from Bids b where b.id = :auctionId"
+                + " order by b.price desc, b.quantity desc, b.bidId", BidResponse.class)
+        .setParameter("auctionId", auctionId)
+        .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+        .getResultStream()) {
+      bids.forEach(action);
+    }
+  }
+}
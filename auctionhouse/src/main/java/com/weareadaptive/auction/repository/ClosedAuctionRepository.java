@@ -0,0 +1,18 @@
+package com.weareadaptive.auction.repository;
+
+import com.weareadaptive.auction.model.ClosedAuction;
+import java.util.Optional;
+import javax.transaction.Transactional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+public interface ClosedAuctionRepository extends Repository<ClosedAuction, Integer> {
+
+  <S extends ClosedAuction> S save(S closedAuction);
+
+  @Transactional
+  @EntityGraph(attributePaths = "allocations")
+  @Query("select c from ClosedAuction c where c.auctionId=?1")
+  Optional<ClosedAuction> getClosedAuction(int auctionId);
+}
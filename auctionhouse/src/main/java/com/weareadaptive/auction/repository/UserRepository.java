@@ -1,15 +1,21 @@
 package com.weareadaptive.auction.repository;
 
+import com.weareadaptive.auction.controller.dto.UserResponse;
 import com.weareadaptive.auction.model.User;
+import java.util.List;
 import java.util.Optional;
 import javax.transaction.Transactional;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.Repository;
 
-@Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends Repository<User, Integer> {
+
+  <S extends User> S save(S user);
+
+  Optional<User> findById(Integer id);
+
+  List<User> findAll();
 
   @Query("select u from AuctionUser u where u.username=?1 and u.password=?2")
   Optional<User> validateUsernamePassword(String username, String password);
@@ -17,18 +23,27 @@ public interface UserRepository extends JpaRepository<User, Integer> {
   @Query("select u from AuctionUser u where u.username=?1")
   Optional<User> getByUsername(String username);
 
+  @Query("select new com.weareadaptive.auction.controller.dto.UserResponse(u.id, u.username,"
+      + " u.firstName, u.lastName, u.organisation) from AuctionUser u where u.id=?1")
+  Optional<UserResponse> getUserResponse(int id);
+
+  @Query("select new com.weareadaptive.auction.controller.dto.UserResponse(u.id, u.username,"
+      + " u.firstName, u.lastName, u.organisation) from AuctionUser u")
+  List<UserResponse> getAllUserResponses();
+
   @Modifying
   @Transactional
-  @Query("update AuctionUser  set blocked = true where id=?1")
+  @Query("update AuctionUser set blocked = true, version = version + 1 where id=?1")
   int block(int id);
 
   @Modifying
   @Transactional
-  @Query("update AuctionUser set blocked=false  where id=?1")
+  @Query("update AuctionUser set blocked = false, version = version + 1 where id=?1")
   int unblock(int id);
 
   @Modifying
   @Transactional
-  @Query("update AuctionUser set firstName=?2, lastName=?3, organisation=?4 where id=?1")
+  @Query("update AuctionUser set firstName=?2, lastName=?3, organisation=?4,"
+      + " version = version + 1 where id=?1")
   int update(int id, String firstName, String lastName, String organisationName);
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosedAuction;
+import com.weareadaptive.auction.model.User;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+
+/**
+ * The binary form of the stored entities, shared by journal records and snapshots. Each record is
+ * the full image of an entity, so applying it twice, or applying an older image before a newer
+ * one, ends in the same state.
+ */
+final class EntityCodec {
+  /**
+   * Bumped whenever the binary form changes, so that a journal written in an older form is refused
+   * rather than misread. Version 2 stores prices and revenues as long ticks, and version 3 adds the
+   * version of users and auctions.
+   */
+  static final int VERSION = 3;
+  static final byte USER = 1;
+  static final byte AUCTION = 2;
+  static final byte BID = 3;
+  static final byte CLOSED_AUCTION = 4;
+
+  private EntityCodec() {
+  }
+
+  static void writeUser(DataOutput out, User user) throws IOException {
+    out.writeInt(user.getId());
+    out.writeUTF(user.getUsername());
+    out.writeUTF(user.getPassword());
+    out.writeUTF(user.getFirstName());
+    out.writeUTF(user.getLastName());
+    out.writeUTF(user.getOrganisation());
+    out.writeBoolean(user.isAdmin());
+    out.writeBoolean(user.isBlocked());
+    out.writeLong(user.getVersion());
+  }
+
+  static User readUser(DataInput in) throws IOException {
+    var user = new User();
+    user.setId(in.readInt());
+    user.setUsername(in.readUTF());
+    user.setPassword(in.readUTF());
+    user.setFirstName(in.readUTF());
+    user.setLastName(in.readUTF());
+    user.setOrganisation(in.readUTF());
+    user.setAdmin(in.readBoolean());
+    user.setBlocked(in.readBoolean());
+    user.setVersion(in.readLong());
+    return user;
+  }
+
+  static void writeAuction(DataOutput out, AuctionLot auction) throws IOException {
+    out.writeInt(auction.getId());
+    out.writeUTF(auction.getOwner());
+    out.writeUTF(auction.getSymbol());
+    out.writeInt(auction.getQuantity());
+    out.writeLong(auction.getMinPrice());
+    out.writeByte(auction.getStatus().ordinal());
+    writeInstant(out, auction.getClosingTime());
+    out.writeLong(auction.getVersion());
+  }
+
+  static AuctionLot readAuction(DataInput in) throws IOException {
+    var id = in.readInt();
+    var owner = in.readUTF();
+    var symbol = in.readUTF();
+    var quantity = in.readInt();
+    var minPrice = in.readLong();
+    var status = AuctionLot.Status.values()[in.readByte()];
+    var auction = new AuctionLot(owner, symbol, quantity, minPrice, readInstant(in));
+    auction.setId(id);
+    auction.setStatus(status);
+    auction.setVersion(in.readLong());
+    return auction;
+  }
+
+  static void writeBid(DataOutput out, Bid bid) throws IOException {
+    out.writeInt(bid.getBidId());
+    out.writeInt(bid.getId());
+    out.writeUTF(bid.getUser());
+    out.writeInt(bid.getQuantity());
+    out.writeLong(bid.getPrice());
+    out.writeByte(bid.getState().ordinal());
+    out.writeInt(bid.getWinQuantity());
+  }
+
+  static Bid readBid(DataInput in) throws IOException {
+    var bidId = in.readInt();
+    var bid = new Bid(in.readInt(), in.readUTF(), in.readInt(), in.readLong());
+    bid.setBidId(bidId);
+    var state = Bid.State.values()[in.readByte()];
+    var winQuantity = in.readInt();
+    if (state == Bid.State.WIN) {
+      bid.win(winQuantity);
+    } else if (state == Bid.State.LOST) {
+      bid.lost();
+    }
+    return bid;
+  }
+
+  static void writeClosedAuction(DataOutput out, ClosedAuction closedAuction)
+      throws IOException {
+    out.writeInt(closedAuction.getAuctionId());
+    out.writeInt(closedAuction.getTotalSoldQuantity());
+    out.writeLong(closedAuction.getTotalRevenue());
+    writeInstant(out, closedAuction.getClosingTime());
+    var allocations = closedAuction.getAllocations();
+    out.writeInt(allocations.size());
+    for (var allocation : allocations) {
+      out.writeInt(allocation.getBidId());
+      out.writeInt(allocation.getQuantity());
+    }
+  }
+
+  static ClosedAuction readClosedAuction(DataInput in) throws IOException {
+    var auctionId = in.readInt();
+    var totalSoldQuantity = in.readInt();
+    var totalRevenue = in.readLong();
+    var closingTime = readInstant(in);
+    var count = in.readInt();
+    var allocations = new ArrayList<ClosedAuction.Allocation>(count);
+    for (int i = 0; i < count; i++) {
+      allocations.add(new ClosedAuction.Allocation(in.readInt(), in.readInt()));
+    }
+    return new ClosedAuction(auctionId, totalSoldQuantity, totalRevenue, closingTime,
+        allocations);
+  }
+
+  private static void writeInstant(DataOutput out, Instant instant) throws IOException {
+    out.writeBoolean(instant != null);
+    if (instant != null) {
+      out.writeLong(instant.getEpochSecond());
+      out.writeInt(instant.getNano());
+    }
+  }
+
+  private static Instant readInstant(DataInput in) throws IOException {
+    return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+  }
+}
@@ -0,0 +1,114 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.State;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryAuctionRepository extends StateRepository<AuctionLot>
+    implements AuctionRepository {
+  private final State.Index<AuctionLot, String> byOwner;
+
+  public InMemoryAuctionRepository() {
+    super(AuctionLot::getId, AuctionLot::setId);
+    byOwner = state.index(AuctionLot::getOwner);
+  }
+
+  @Override
+  public List<AuctionLot> getAllUserAuctions(String username) {
+    return Arrays.stream(byOwner.get(username)).mapToObj(state::get).toList();
+  }
+
+  @Override
+  public Optional<AuctionResponse> getAuctionResponse(int id) {
+    return findById(id).map(InMemoryAuctionRepository::toResponse);
+  }
+
+  @Override
+  public List<AuctionLot> getScheduledAuctions(AuctionLot.Status status) {
+    return state.stream()
+        .filter(auction -> auction.getStatus() == status && auction.getClosingTime() != null)
+        .toList();
+  }
+
+  @Override
+  public synchronized int updateVersion(int id, long version) {
+    var auction = state.get(id);
+    if (auction == null || auction.getVersion() != version) {
+      return 0;
+    }
+    state.put(nextVersion(auction, auction.getStatus()));
+    return 1;
+  }
+
+  @Override
+  public synchronized int updateStatus(int id, AuctionLot.Status from, AuctionLot.Status to) {
+    var auction = state.get(id);
+    if (auction == null || auction.getStatus() != from) {
+      return 0;
+    }
+    state.put(nextVersion(auction, to));
+    return 1;
+  }
+
+  /**
+   * Copies the auction into its next version, leaving instances already handed out, such as the
+   * one in an order book, as they were read.
+   */
+  private static AuctionLot nextVersion(AuctionLot auction, AuctionLot.Status status) {
+    var updated = new AuctionLot(auction.getOwner(), auction.getSymbol(), auction.getQuantity(),
+        auction.getMinPrice(), auction.getClosingTime());
+    updated.setId(auction.getId());
+    updated.setStatus(status);
+    updated.setVersion(auction.getVersion() + 1);
+    return updated;
+  }
+
+  /**
+   * Walks the ids newest first, through the owner index when the filter has an owner and over
+   * every id otherwise, until {@code limit} auctions match.
+   */
+  @Override
+  public List<AuctionResponse> search(AuctionFilter filter, Integer before, int limit) {
+    int[] ownerIds = filter.owner() == null ? null : byOwner.get(filter.owner());
+    int count = ownerIds != null ? ownerIds.length
+        : before == null ? state.lastId() : Math.min(state.lastId(), before - 1);
+    IntUnaryOperator idAt = ownerIds == null ? i -> i + 1 : i -> ownerIds[i];
+
+    var auctions = new ArrayList<AuctionResponse>(Math.min(limit, count));
+    for (int i = count - 1; i >= 0 && auctions.size() < limit; i--) {
+      var id = idAt.applyAsInt(i);
+      if (before != null && id >= before) {
+        continue;
+      }
+      var auction = state.get(id);
+      if (auction != null && matches(filter, auction)) {
+        auctions.add(toResponse(auction));
+      }
+    }
+    return auctions;
+  }
+
+  private static boolean matches(AuctionFilter filter, AuctionLot auction) {
+    return (filter.owner() == null || filter.owner().equals(auction.getOwner()))
+        && (filter.symbol() == null || filter.symbol().equals(auction.getSymbol()))
+        && (filter.status() == null || filter.status() == auction.getStatus())
+        && (filter.minPrice() == null || auction.getMinPrice() >= filter.minPrice());
+  }
+
+  private static AuctionResponse toResponse(AuctionLot auction) {
+    return new AuctionResponse(auction.getId(), auction.getOwner(), auction.getSymbol(),
+        auction.getMinPrice(), auction.getQuantity(), auction.getStatus(),
+        auction.getClosingTime());
+  }
+}
@@ -0,0 +1,88 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.model.State;
+import com.weareadaptive.auction.repository.BidRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryBidRepository extends StateRepository<Bid> implements BidRepository {
+  private final State.Index<Bid, Integer> byAuction;
+
+  public InMemoryBidRepository() {
+    super(Bid::getBidId, Bid::setBidId);
+    byAuction = state.index(Bid::getId);
+  }
+
+  @Override
+  public List<Bid> getAllAuctionBids(int id) {
+    return Arrays.stream(byAuction.get(id))
+        .mapToObj(state::get)
+        .sorted(OrderBook.BID_PRIORITY)
+        .toList();
+  }
+
+  @Override
+  public List<BidResponse> getAuctionBids(int id, Pageable pageable) {
+    return getAllAuctionBids(id).stream()
+        .skip(pageable.getOffset())
+        .limit(pageable.getPageSize())
+        .map(InMemoryBidRepository::toResponse)
+        .toList();
+  }
+
+  @Override
+  public List<BidResponse> getAuctionBidsAfter(int id, int bidId, Pageable pageable) {
+    var bids = getAllAuctionBids(id);
+    var after = bids.stream().map(Bid::getBidId).toList().indexOf(bidId);
+    if (after < 0) {
+      return List.of();
+    }
+    return bids.stream()
+        .skip(after + 1 + pageable.getOffset())
+        .limit(pageable.getPageSize())
+        .map(InMemoryBidRepository::toResponse)
+        .toList();
+  }
+
+  @Override
+  public long countByState(int auctionId, Bid.State state) {
+    return Arrays.stream(byAuction.get(auctionId))
+        .filter(bidId -> this.state.get(bidId).getState() == state)
+        .count();
+  }
+
+  /**
+   * Replaces each pending bid with a lost copy, so readers holding the bid never see it change.
+   */
+  @Override
+  public synchronized void losePendingBids(int auctionId) {
+    for (int bidId : byAuction.get(auctionId)) {
+      var bid = state.get(bidId);
+      if (bid.getState() == Bid.State.PENDING) {
+        var lost = new Bid(bid.getId(), bid.getUser(), bid.getQuantity(), bid.getPrice());
+        lost.setBidId(bidId);
+        lost.lost();
+        state.put(lost);
+      }
+    }
+  }
+
+  @Override
+  public void forEachAuctionBid(int auctionId, Consumer<BidResponse> action) {
+    getAllAuctionBids(auctionId).forEach(bid -> action.accept(toResponse(bid)));
+  }
+
+  private static BidResponse toResponse(Bid bid) {
+    return new BidResponse(bid.getUser(), bid.getBidId(), bid.getId(), bid.getQuantity(),
+        bid.getPrice());
+  }
+}
@@ -0,0 +1,24 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.model.ClosedAuction;
+import com.weareadaptive.auction.repository.ClosedAuctionRepository;
+import java.util.Optional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryClosedAuctionRepository extends StateRepository<ClosedAuction>
+    implements ClosedAuctionRepository {
+
+  public InMemoryClosedAuctionRepository() {
+    super(ClosedAuction::getAuctionId, (closedAuction, id) -> {
+      throw new IllegalArgumentException("A closed auction needs the id of its auction");
+    });
+  }
+
+  @Override
+  public Optional<ClosedAuction> getClosedAuction(int auctionId) {
+    return findById(auctionId);
+  }
+}
@@ -0,0 +1,72 @@
+package com.weareadaptive.auction.repository.memory;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code in-memory} profile keeps users, auctions, bids and closing summaries in
+ * {@link com.weareadaptive.auction.model.State} stores instead of PostgreSQL. The datasource, JPA
+ * and Flyway are switched off in {@code application-in-memory.properties}, and the repositories of
+ * this package take the place of the Spring Data ones. Nothing survives a restart unless
+ * {@code auction.journal.directory} is set, which turns on the {@link StateJournal}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("in-memory")
+public class InMemoryStoreConfiguration {
+
+  /**
+   * The SQL close engine allocates with a PostgreSQL query, which this profile has no datasource
+   * for, so the combination is refused before any bean is created rather than on the first close.
+   */
+  @Bean
+  public static BeanFactoryPostProcessor closeEngineCheck(Environment environment) {
+    return beanFactory -> {
+      if ("sql".equals(environment.getProperty("auction.close-engine"))) {
+        throw new IllegalStateException("auction.close-engine=sql needs PostgreSQL,"
+            + " use auction.close-engine=java with the in-memory profile");
+      }
+    };
+  }
+
+  /**
+   * Keeps transaction synchronisation working, so that work deferred to after commit still runs,
+   * but does not roll anything back: the stores are written as the repositories are called.
+   */
+  @Bean
+  public PlatformTransactionManager transactionManager() {
+    return new AbstractPlatformTransactionManager() {
+      @Override
+      protected Object doGetTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+      }
+
+      @Override
+      protected boolean isExistingTransaction(Object transaction) {
+        return (Boolean) transaction;
+      }
+
+      @Override
+      protected void doBegin(Object transaction, TransactionDefinition definition) {
+
+      }
+
+      @Override
+      protected void doCommit(DefaultTransactionStatus status) {
+
+      }
+
+      @Override
+      protected void doRollback(DefaultTransactionStatus status) {
+
+      }
+    };
+  }
+}
@@ -0,0 +1,122 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.controller.dto.UserResponse;
+import com.weareadaptive.auction.model.State;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.repository.UserRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository extends StateRepository<User> implements UserRepository {
+  private final State.Index<User, String> byUsername;
+  private volatile Runnable awaitDurable = () -> {
+  };
+
+  public InMemoryUserRepository() {
+    super(User::getId, User::setId);
+    byUsername = state.index(User::getUsername);
+    save(new User("ADMIN", "adminpassword", "admin", "admin", "Adaptive", true));
+  }
+
+  /**
+   * Called by the {@link StateJournal}, whose write listener appends each user as it is stored.
+   * Writes wait for their record to be forced only once they have released the lock, so writers
+   * queue behind an append rather than behind a flush.
+   */
+  void setAwaitDurable(Runnable awaitDurable) {
+    this.awaitDurable = awaitDurable;
+  }
+
+  @Override
+  public <S extends User> S save(S user) {
+    S saved;
+    synchronized (this) {
+      var existing = getByUsername(user.getUsername());
+      if (existing.isPresent() && existing.get().getId() != user.getId()) {
+        throw new DataIntegrityViolationException(
+            "Username " + user.getUsername() + " already exists");
+      }
+      saved = super.save(user);
+    }
+    awaitDurable.run();
+    return saved;
+  }
+
+  @Override
+  public Optional<User> validateUsernamePassword(String username, String password) {
+    return getByUsername(username).filter(user -> user.getPassword().equals(password));
+  }
+
+  @Override
+  public Optional<User> getByUsername(String username) {
+    return Arrays.stream(byUsername.get(username)).mapToObj(state::get).findFirst();
+  }
+
+  @Override
+  public Optional<UserResponse> getUserResponse(int id) {
+    return findById(id).map(InMemoryUserRepository::toResponse);
+  }
+
+  @Override
+  public List<UserResponse> getAllUserResponses() {
+    return state.stream().map(InMemoryUserRepository::toResponse).toList();
+  }
+
+  @Override
+  public int block(int id) {
+    return update(id, user -> user.setBlocked(true));
+  }
+
+  @Override
+  public int unblock(int id) {
+    return update(id, user -> user.setBlocked(false));
+  }
+
+  @Override
+  public int update(int id, String firstName, String lastName, String organisationName) {
+    return update(id, user -> {
+      user.setFirstName(firstName);
+      user.setLastName(lastName);
+      user.setOrganisation(organisationName);
+    });
+  }
+
+  /**
+   * Applies the change to a copy that then replaces the stored user, so readers holding the user
+   * never see it half updated.
+   */
+  private int update(int id, Consumer<User> change) {
+    synchronized (this) {
+      var user = state.get(id);
+      if (user == null) {
+        return 0;
+      }
+      var updated = new User();
+      updated.setId(user.getId());
+      updated.setUsername(user.getUsername());
+      updated.setPassword(user.getPassword());
+      updated.setFirstName(user.getFirstName());
+      updated.setLastName(user.getLastName());
+      updated.setOrganisation(user.getOrganisation());
+      updated.setAdmin(user.isAdmin());
+      updated.setBlocked(user.isBlocked());
+      updated.setVersion(user.getVersion() + 1);
+      change.accept(updated);
+      state.put(updated);
+    }
+    awaitDurable.run();
+    return 1;
+  }
+
+  private static UserResponse toResponse(User user) {
+    return new UserResponse(user.getId(), user.getUsername(), user.getFirstName(),
+        user.getLastName(), user.getOrganisation());
+  }
+}
@@ -0,0 +1,344 @@
+package com.weareadaptive.auction.repository.memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of typed binary records in memory-mapped segment files. Records are
+ * {@code [payload length][crc32c][type][payload]}; a zero length marks the end of the written part
+ * of a segment, and a record that does not fit starts the next segment. Positions are logical
+ * offsets: segment {@code n} covers {@code [n * segmentSize, (n + 1) * segmentSize)} and is named
+ * after its first position.
+ *
+ * <p>Appending only copies into the mapping. A flusher thread forces whatever has been appended
+ * since its last pass, so appends that arrive while a flush is running share the next one (group
+ * commit), and callbacks waiting on {@link #whenDurable(Runnable)} run once their records are on
+ * disk. On open, the tail of the last segment is checked record by record and cut at the first
+ * torn or corrupt record.
+ */
+final class Journal implements AutoCloseable {
+  static final String SUFFIX = ".journal";
+  private static final int HEADER_SIZE = Integer.BYTES * 2 + 1;
+  private static final int ZEROS_SIZE = 64 * 1024;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final List<Segment> segments = new ArrayList<>();
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private final CRC32C crc = new CRC32C();
+  private final Thread flusher;
+  private Segment current;
+  private long appended;
+  private long flushed;
+  private Segment flushedSegment;
+  private int flushedOffset;
+  private boolean closed;
+
+  Journal(Path directory, int segmentSize) {
+    if (segmentSize <= HEADER_SIZE) {
+      throw new IllegalArgumentException("segmentSize must be above " + HEADER_SIZE);
+    }
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    try {
+      Files.createDirectories(directory);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not open the journal in " + directory, e);
+    }
+    flusher = new Thread(this::flushLoop, "journal-flusher");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * The position after the last appended record.
+   */
+  synchronized long position() {
+    return appended;
+  }
+
+  synchronized long append(byte type, byte[] payload) {
+    if (closed) {
+      throw new IllegalStateException("The journal is closed");
+    }
+    var size = HEADER_SIZE + payload.length;
+    if (size > segmentSize) {
+      throw new IllegalArgumentException("Record of " + size + " bytes does not fit a segment");
+    }
+    if (current.offset + size > segmentSize) {
+      roll();
+    }
+    crc.reset();
+    crc.update(type);
+    crc.update(payload);
+    var buffer = current.buffer;
+    var offset = current.offset;
+    buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+    buffer.put(offset + Integer.BYTES * 2, type);
+    buffer.put(offset + HEADER_SIZE, payload);
+    buffer.putInt(offset, payload.length);
+    current.offset += size;
+    appended = current.base + current.offset;
+    notifyAll();
+    return appended;
+  }
+
+  /**
+   * Runs {@code callback} once everything appended so far has been forced to disk, right away if
+   * it already is and on the flusher thread otherwise.
+   */
+  void whenDurable(Runnable callback) {
+    synchronized (this) {
+      if (flushed < appended) {
+        waiters.add(new Waiter(appended, callback));
+        return;
+      }
+    }
+    callback.run();
+  }
+
+  synchronized void awaitDurable(long position) {
+    var interrupted = false;
+    while (flushed < position && !closed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Passes every record from {@code position} on to {@code handler}, with the payload as a
+   * read-only buffer that is only valid during the call.
+   */
+  synchronized void replay(long position, RecordHandler handler) {
+    for (Segment segment : segments) {
+      if (segment.base + segmentSize <= position) {
+        continue;
+      }
+      var offset = (int) Math.max(0, position - segment.base);
+      var buffer = segment.buffer.asReadOnlyBuffer();
+      while (offset < segment.offset) {
+        var length = buffer.getInt(offset);
+        handler.handle(buffer.get(offset + Integer.BYTES * 2),
+            buffer.slice(offset + HEADER_SIZE, length));
+        offset += HEADER_SIZE + length;
+      }
+    }
+  }
+
+  /**
+   * Deletes the segments that end at or before {@code position}.
+   */
+  synchronized void deleteBefore(long position) {
+    var iterator = segments.iterator();
+    while (iterator.hasNext()) {
+      var segment = iterator.next();
+      if (segment == current || segment.base + segmentSize > position) {
+        return;
+      }
+      try {
+        Files.deleteIfExists(path(segment.base));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      iterator.remove();
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      notifyAll();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (this) {
+      current.buffer.force();
+      flushed = appended;
+      notifyAll();
+    }
+    runWaiters();
+  }
+
+  private void flushLoop() {
+    while (true) {
+      Segment segment;
+      int from;
+      int to;
+      long target;
+      synchronized (this) {
+        while (flushed == appended && !hasReadyWaiters() && !closed) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (closed) {
+          return;
+        }
+        segment = current;
+        from = segment == flushedSegment ? flushedOffset : 0;
+        to = segment.offset;
+        target = appended;
+      }
+      if (to > from) {
+        segment.buffer.force(from, to - from);
+      }
+      synchronized (this) {
+        flushedSegment = segment;
+        flushedOffset = to;
+        flushed = Math.max(flushed, target);
+        notifyAll();
+      }
+      runWaiters();
+    }
+  }
+
+  private synchronized boolean hasReadyWaiters() {
+    return !waiters.isEmpty() && waiters.peek().position <= flushed;
+  }
+
+  private void runWaiters() {
+    var ready = new ArrayList<Runnable>();
+    synchronized (this) {
+      while (hasReadyWaiters()) {
+        ready.add(waiters.poll().callback);
+      }
+    }
+    ready.forEach(Runnable::run);
+  }
+
+  /**
+   * Called with the lock held: forces the whole segment, so the flusher only ever has the current
+   * one to look after, and maps the next. Waiters on the old segment are left to the flusher.
+   */
+  private void roll() {
+    current.buffer.force();
+    current = map(current.base + segmentSize);
+    segments.add(current);
+    appended = current.base;
+    flushed = appended;
+  }
+
+  private void recover() throws IOException {
+    try (var files = Files.list(directory)) {
+      files.map(file -> file.getFileName().toString())
+          .filter(name -> name.endsWith(SUFFIX))
+          .mapToLong(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+          .sorted()
+          .forEach(base -> segments.add(map(base)));
+    }
+    if (segments.isEmpty()) {
+      segments.add(map(0));
+    }
+    for (int i = 0; i < segments.size(); i++) {
+      var segment = segments.get(i);
+      var end = scan(segment);
+      if (end < 0 && i < segments.size() - 1) {
+        throw new IllegalStateException("Journal segment " + path(segment.base)
+            + " is corrupt before the last segment");
+      }
+      segment.offset = Math.abs(end);
+    }
+    current = segments.get(segments.size() - 1);
+    zeroFrom(current);
+    appended = current.base + current.offset;
+    flushed = appended;
+  }
+
+  /**
+   * Returns the offset after the last valid record, negated when scanning stopped at a torn or
+   * corrupt record rather than at the end marker.
+   */
+  private int scan(Segment segment) {
+    var buffer = segment.buffer;
+    var check = new CRC32C();
+    var offset = 0;
+    while (offset + HEADER_SIZE <= segmentSize) {
+      var length = buffer.getInt(offset);
+      if (length == 0) {
+        return offset;
+      }
+      if (length < 0 || offset + HEADER_SIZE + length > segmentSize) {
+        return -offset;
+      }
+      check.reset();
+      check.update(buffer.get(offset + Integer.BYTES * 2));
+      check.update(buffer.slice(offset + HEADER_SIZE, length));
+      if ((int) check.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+        return -offset;
+      }
+      offset += HEADER_SIZE + length;
+    }
+    return offset;
+  }
+
+  /**
+   * Clears whatever follows the valid records of the segment, so that a torn record cannot be
+   * mistaken for a valid one once new records are written in front of it.
+   */
+  private void zeroFrom(Segment segment) {
+    var zeros = new byte[ZEROS_SIZE];
+    for (int offset = segment.offset; offset < segmentSize; offset += ZEROS_SIZE) {
+      segment.buffer.put(offset, zeros, 0, Math.min(ZEROS_SIZE, segmentSize - offset));
+    }
+    segment.buffer.force();
+  }
+
+  private Segment map(long base) {
+    try (var channel = FileChannel.open(path(base), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return new Segment(base, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path path(long base) {
+    return directory.resolve(String.format("%020d%s", base, SUFFIX));
+  }
+
+  @FunctionalInterface
+  interface RecordHandler {
+    void handle(byte type, ByteBuffer payload);
+  }
+
+  private static final class Segment {
+    private final long base;
+    private final MappedByteBuffer buffer;
+    private int offset;
+
+    private Segment(long base, MappedByteBuffer buffer) {
+      this.base = base;
+      this.buffer = buffer;
+    }
+  }
+
+  private record Waiter(long position, Runnable callback) {
+  }
+}
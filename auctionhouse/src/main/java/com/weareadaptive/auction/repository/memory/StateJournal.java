@@ -0,0 +1,358 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosedAuction;
+import com.weareadaptive.auction.model.State;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.service.Durability;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes the in-memory stores survive a restart when {@code auction.journal.directory} is set.
+ * Every entity written to a store is appended to a {@link Journal}, and a snapshot of all the
+ * stores is taken every {@code auction.journal.snapshot-interval}, after which the journal
+ * segments it covers are deleted. On startup the newest valid snapshot is loaded and only the
+ * journal from its position on is replayed.
+ *
+ * <p>The directory records the {@link EntityCodec#VERSION} it was written with, and startup fails
+ * on a directory written with another version, or before versions were recorded, instead of
+ * misreading it.
+ *
+ * <p>Snapshots are fuzzy: the journal position is read before the stores are walked, so a write
+ * that lands during the walk may be in the snapshot and in the replayed tail as well. Records are
+ * full entity images, so replaying it again is harmless.
+ *
+ * <p>Sequenced commands are acknowledged through {@link Durability} once the flusher has forced
+ * their records, so one flush releases every command that ran while the previous one was in
+ * progress. User writes do not go through the sequencer, so they wait for their record
+ * themselves once they have released the repository's lock.
+ */
+@Component
+@Profile("in-memory")
+@ConditionalOnProperty(name = "auction.journal.directory")
+public class StateJournal implements Durability {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StateJournal.class);
+  private static final String SNAPSHOT_SUFFIX = ".snapshot";
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+  private static final String FORMAT_FILE = "format";
+  private static final int SNAPSHOT_MAGIC = 0x534e4150;
+  private static final byte END = 0;
+
+  private final Path directory;
+  private final Journal journal;
+  private final List<Store<?>> stores;
+  private final ScheduledExecutorService snapshots;
+  private long snapshotPosition = -1;
+
+  public StateJournal(InMemoryUserRepository userRepository,
+                      InMemoryAuctionRepository auctionRepository,
+                      InMemoryBidRepository bidRepository,
+                      InMemoryClosedAuctionRepository closedAuctionRepository,
+                      @Value("${auction.journal.directory}") Path directory,
+                      @Value("${auction.journal.segment-size:16777216}") int segmentSize,
+                      @Value("${auction.journal.snapshot-interval:PT1M}")
+                          Duration snapshotInterval) {
+    this.directory = directory;
+    stores = List.of(
+        new Store<>(EntityCodec.USER, userRepository.getState(), User::getId,
+            EntityCodec::writeUser, EntityCodec::readUser),
+        new Store<>(EntityCodec.AUCTION, auctionRepository.getState(), AuctionLot::getId,
+            EntityCodec::writeAuction, EntityCodec::readAuction),
+        new Store<>(EntityCodec.BID, bidRepository.getState(), Bid::getBidId,
+            EntityCodec::writeBid, EntityCodec::readBid),
+        new Store<>(EntityCodec.CLOSED_AUCTION, closedAuctionRepository.getState(),
+            ClosedAuction::getAuctionId, EntityCodec::writeClosedAuction,
+            EntityCodec::readClosedAuction));
+    journal = new Journal(directory, segmentSize);
+    try {
+      checkFormat();
+    } catch (RuntimeException e) {
+      journal.close();
+      throw e;
+    }
+    restore();
+    follow();
+    userRepository.setAwaitDurable(() -> journal.awaitDurable(journal.position()));
+    snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "state-snapshot");
+      thread.setDaemon(true);
+      return thread;
+    });
+    snapshots.scheduleWithFixedDelay(this::snapshotIfChanged, snapshotInterval.toMillis(),
+        snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void whenDurable(Runnable acknowledgement) {
+    journal.whenDurable(acknowledgement);
+  }
+
+  /**
+   * Writes every store to a new snapshot file, then deletes the older snapshots and the journal
+   * segments that the new one covers.
+   */
+  public synchronized void snapshot() {
+    var position = journal.position();
+    var file = snapshotPath(position);
+    var temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+    var count = 0;
+    try {
+      try (var stream = new FileOutputStream(temporary.toFile());
+           var checked = new CheckedOutputStream(new BufferedOutputStream(stream), new CRC32C());
+           var out = new DataOutputStream(checked)) {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(position);
+        for (Store<?> store : stores) {
+          count += store.writeTo(out);
+        }
+        out.writeByte(END);
+        out.writeLong(checked.getChecksum().getValue());
+        out.flush();
+        stream.getFD().sync();
+      }
+      Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+      for (Path older : snapshotFiles()) {
+        if (!older.equals(file)) {
+          Files.delete(older);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write snapshot " + file, e);
+    }
+    journal.deleteBefore(position);
+    snapshotPosition = position;
+    LOGGER.info("Snapshot of {} entities at journal position {}", count, position);
+  }
+
+  @PreDestroy
+  public void close() {
+    snapshots.shutdownNow();
+    try {
+      snapshots.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    snapshot();
+    journal.close();
+  }
+
+  private void snapshotIfChanged() {
+    try {
+      if (journal.position() != snapshotPosition) {
+        snapshot();
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Snapshot failed, the journal keeps every segment until one succeeds", e);
+    }
+  }
+
+  private void checkFormat() {
+    var file = directory.resolve(FORMAT_FILE);
+    try {
+      if (Files.exists(file)) {
+        var version = Integer.parseInt(Files.readString(file).trim());
+        if (version != EntityCodec.VERSION) {
+          throw new IllegalStateException("The journal in " + directory + " was written in format "
+              + version + " and this version reads format " + EntityCodec.VERSION
+              + ", restore it with the version that wrote it or move it aside");
+        }
+      } else if (journal.position() > 0 || !snapshotFiles().isEmpty()) {
+        throw new IllegalStateException("The journal in " + directory + " predates format "
+            + EntityCodec.VERSION + ", restore it with the version that wrote it or move it aside");
+      } else {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE)) {
+          channel.write(ByteBuffer.wrap(
+              (EntityCodec.VERSION + "\n").getBytes(StandardCharsets.US_ASCII)));
+          channel.force(true);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not check the journal format in " + directory, e);
+    }
+  }
+
+  private void restore() {
+    var position = 0L;
+    var restored = 0;
+    try (var files = Files.list(directory)) {
+      for (Path temporary : files.filter(file -> file.toString().endsWith(TEMPORARY_SUFFIX))
+          .toList()) {
+        Files.delete(temporary);
+      }
+      for (Path file : snapshotFiles()) {
+        var snapshot = readSnapshot(file);
+        if (snapshot != null) {
+          snapshot.records.forEach(record -> apply(record.type, record.payload));
+          restored = snapshot.records.size();
+          position = snapshot.position;
+          snapshotPosition = position;
+          break;
+        }
+        LOGGER.warn("Skipping snapshot {}, it is incomplete or corrupt", file);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the snapshots in " + directory, e);
+    }
+    var replayed = new int[1];
+    journal.replay(position, (type, payload) -> {
+      var bytes = new byte[payload.remaining()];
+      payload.get(bytes);
+      apply(type, bytes);
+      replayed[0]++;
+    });
+    LOGGER.info("Restored {} entities from the snapshot and {} journal records from position {}",
+        restored, replayed[0], position);
+  }
+
+  /**
+   * Appends every entity written from now on. Sequenced writes are acknowledged by
+   * {@link #whenDurable(Runnable)}; user writes have no such barrier, so the user repository
+   * waits for the journal position it reads after its write.
+   */
+  private void follow() {
+    for (Store<?> store : stores) {
+      store.follow(journal);
+    }
+  }
+
+  private void apply(byte type, byte[] payload) {
+    stores.stream()
+        .filter(store -> store.type == type)
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("Unknown record type " + type))
+        .restore(payload);
+  }
+
+  /**
+   * Returns {@code null} if the snapshot does not end with a matching checksum.
+   */
+  private static Snapshot readSnapshot(Path file) {
+    try (var checked = new CheckedInputStream(
+        new BufferedInputStream(Files.newInputStream(file)), new CRC32C());
+         var in = new DataInputStream(checked)) {
+      if (in.readInt() != SNAPSHOT_MAGIC) {
+        return null;
+      }
+      var position = in.readLong();
+      var records = new ArrayList<Record>();
+      for (byte type = in.readByte(); type != END; type = in.readByte()) {
+        var payload = new byte[in.readInt()];
+        in.readFully(payload);
+        records.add(new Record(type, payload));
+      }
+      var checksum = checked.getChecksum().getValue();
+      return in.readLong() == checksum ? new Snapshot(position, records) : null;
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The snapshot files, newest first.
+   */
+  private List<Path> snapshotFiles() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+          .sorted(Comparator.comparing(Path::getFileName).reversed())
+          .toList();
+    }
+  }
+
+  private Path snapshotPath(long position) {
+    return directory.resolve(String.format("%020d%s", position, SNAPSHOT_SUFFIX));
+  }
+
+  @FunctionalInterface
+  private interface Writer<T> {
+    void write(DataOutput out, T entity) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Reader<T> {
+    T read(DataInput in) throws IOException;
+  }
+
+  private record Snapshot(long position, List<Record> records) {
+  }
+
+  private record Record(byte type, byte[] payload) {
+  }
+
+  private record Store<T>(byte type, State<T> state, ToIntFunction<T> idOf, Writer<T> writer,
+                          Reader<T> reader) {
+
+    private void restore(byte[] payload) {
+      try {
+        state.put(reader.read(new DataInputStream(new ByteArrayInputStream(payload))));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void follow(Journal journal) {
+      state.setWriteListener(entity -> journal.append(type, encode(entity)));
+    }
+
+    /**
+     * Writes the entities in id order, so that replaying them rebuilds the indexes of the state
+     * in the order the entities were first added.
+     */
+    private int writeTo(DataOutputStream out) throws IOException {
+      var entities = state.stream().sorted(Comparator.comparingInt(idOf)).toList();
+      for (T entity : entities) {
+        var payload = encode(entity);
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+      }
+      return entities.size();
+    }
+
+    private byte[] encode(T entity) {
+      var bytes = new ByteArrayOutputStream(64);
+      try {
+        writer.write(new DataOutputStream(bytes), entity);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return bytes.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.weareadaptive.auction.repository.memory;
+
+import com.weareadaptive.auction.model.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * The save and find methods the repository interfaces declare, over a {@link State}. New
+ * entities, those with id 0, get the next id of the state. Entities are stored and returned as
+ * they are rather than copied, so subclasses that change a stored entity replace it with a copy.
+ */
+abstract class StateRepository<T> {
+  protected final State<T> state;
+  private final ToIntFunction<T> idOf;
+  private final ObjIntConsumer<T> setId;
+
+  protected StateRepository(ToIntFunction<T> idOf, ObjIntConsumer<T> setId) {
+    this.state = new State<>(idOf);
+    this.idOf = idOf;
+    this.setId = setId;
+  }
+
+  /**
+   * The store behind the repository, for {@link StateJournal} to restore and follow.
+   */
+  public State<T> getState() {
+    return state;
+  }
+
+  public <S extends T> S save(S entity) {
+    if (idOf.applyAsInt(entity) == 0) {
+      setId.accept(entity, state.nextId());
+      state.add(entity);
+    } else {
+      state.put(entity);
+    }
+    return entity;
+  }
+
+  public <S extends T> List<S> saveAll(Iterable<S> entities) {
+    var saved = new ArrayList<S>();
+    entities.forEach(entity -> saved.add(save(entity)));
+    return saved;
+  }
+
+  public Optional<T> findById(Integer id) {
+    return Optional.ofNullable(state.get(id));
+  }
+
+  public T getById(Integer id) {
+    return findById(id).orElseThrow(
+        () -> new EntityNotFoundException("Unable to find entity with id " + id));
+  }
+
+  public List<T> findAll() {
+    return state.stream().toList();
+  }
+
+  public List<T> findAllById(Iterable<Integer> ids) {
+    var found = new ArrayList<T>();
+    ids.forEach(id -> findById(id).ifPresent(found::add));
+    return found;
+  }
+
+  public long count() {
+    return state.size();
+  }
+}
@@ -1,9 +1,15 @@
 package com.weareadaptive.auction.security;
 
+import com.weareadaptive.auction.metrics.Outcome;
+import com.weareadaptive.auction.security.CredentialCache.Credential;
+import com.weareadaptive.auction.service.UserChangedEvent;
 import com.weareadaptive.auction.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Optional;
 import javax.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.AbstractUserDetailsAuthenticationProvider;
@@ -15,10 +21,17 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class AuthenticationProvider extends AbstractUserDetailsAuthenticationProvider {
+  public static final String METRIC_NAME = "auction.auth";
 
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private CredentialCache credentialCache;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @Override
   protected void additionalAuthenticationChecks(
       UserDetails userDetails,
@@ -32,31 +45,50 @@ public class AuthenticationProvider extends AbstractUserDetailsAuthenticationPro
       UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken)
       throws AuthenticationException {
 
-    Object token = usernamePasswordAuthenticationToken.getCredentials();
-    return Optional
-        .ofNullable(token)
-        .map(s -> getUser(String.valueOf(s)))
-        .orElseThrow();
+    var sample = Timer.start(meterRegistry);
+    Throwable failure = null;
+    try {
+      Object token = usernamePasswordAuthenticationToken.getCredentials();
+      return Optional
+          .ofNullable(token)
+          .map(s -> getUser(String.valueOf(s)))
+          .orElseThrow();
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      sample.stop(meterRegistry.timer(METRIC_NAME,
+          "outcome", Outcome.of(failure).tag(),
+          "exception", Outcome.exceptionTag(failure)));
+    }
+  }
+
+  @EventListener
+  public void onUserChanged(UserChangedEvent event) {
+    credentialCache.invalidateUser(event.userId());
   }
 
   private UserDetails getUser(@NotNull String token) {
+    var credential = credentialCache.get(token, this::loadCredential);
+    return User.builder()
+          .username(credential.username())
+          .password("")
+          .roles(credential.admin() ? "ADMIN" : "USER")
+          .disabled(credential.blocked())
+          .build();
+  }
+
+  private Credential loadCredential(String token) {
     var splitIndex = token.indexOf(":");
     if (splitIndex < 1) {
       throw new BadCredentialsException("Bad token");
     }
     var username = token.substring(0, splitIndex);
     var password = token.substring(splitIndex + 1);
-    var user = userService.validateUsernamePassword(username, password);
+    var user = userService.validateUsernamePassword(username, password)
+        .orElseThrow(() -> new UsernameNotFoundException("Bad token"));
 
-    if (user.isEmpty()) {
-      throw new UsernameNotFoundException("Bad token");
-    }
-    return User.builder()
-          .username(user.get().getUsername())
-          .password(password)
-          .roles(user.get().isAdmin() ? "ADMIN" : "USER")
-          .disabled(user.get().isBlocked())
-          .build();
+    return new Credential(user.getId(), user.getUsername(), user.isAdmin(), user.isBlocked());
   }
 
 }
@@ -0,0 +1,87 @@
+package com.weareadaptive.auction.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches credentials by a salted SHA-256 digest of the bearer token, so neither tokens nor
+ * passwords are kept in memory. Every entry remembers the invalidation epoch it was loaded in, and
+ * a hit on an entry loaded before its user was last invalidated is reloaded. That covers a load
+ * that read the user before a block but finished caching after {@link #invalidateUser} ran.
+ */
+@Component
+public class CredentialCache implements MeterBinder {
+  private final Cache<String, Entry> credentials;
+  private final byte[] salt = new byte[16];
+  private final AtomicLong epoch = new AtomicLong();
+  private final Map<Integer, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+  public CredentialCache(@Value("${auction.auth-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${auction.auth-cache.time-to-live:PT5M}") Duration timeToLive) {
+    credentials = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+    new SecureRandom().nextBytes(salt);
+  }
+
+  public Credential get(String token, Function<String, Credential> loader) {
+    var key = digest(token);
+    while (true) {
+      var loadedAt = epoch.get();
+      var entry = credentials.get(key, k -> new Entry(loader.apply(token), loadedAt));
+      if (entry.loadedAt() >= invalidatedAt.getOrDefault(entry.credential().userId(), 0L)) {
+        return entry.credential();
+      }
+      credentials.asMap().remove(key, entry);
+    }
+  }
+
+  public void invalidateUser(int userId) {
+    invalidatedAt.put(userId, epoch.incrementAndGet());
+    credentials.asMap().values().removeIf(entry -> entry.credential().userId() == userId);
+  }
+
+  public CacheStats stats() {
+    return credentials.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, credentials, "credentials");
+  }
+
+  private String digest(String token) {
+    try {
+      var sha256 = MessageDigest.getInstance("SHA-256");
+      sha256.update(salt);
+      return Base64.getEncoder().encodeToString(
+          sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public record Credential(int userId, String username, boolean admin, boolean blocked) {
+  }
+
+  private record Entry(Credential credential, long loadedAt) {
+  }
+}
@@ -53,6 +53,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         .authenticationProvider(provider)
         .addFilterBefore(authenticationFilter(), AnonymousAuthenticationFilter.class)
         .authorizeRequests()
+        .antMatchers("/actuator/**").hasRole("ADMIN")
         .requestMatchers(PROTECTED_URLS)
         .authenticated()
         .and()
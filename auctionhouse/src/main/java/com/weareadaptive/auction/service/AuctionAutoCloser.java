@@ -0,0 +1,111 @@
+package com.weareadaptive.auction.service;
+
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuctionAutoCloser {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuctionAutoCloser.class);
+
+  private final AuctionLotService auctionLotService;
+  private final AuctionRepository auctionRepository;
+  private final TimerWheel timerWheel;
+  private final long tickMillis;
+  private final int batchSize;
+  private final ScheduledExecutorService ticker;
+  private final ExecutorService closeExecutor;
+
+  public AuctionAutoCloser(
+      AuctionLotService auctionLotService,
+      AuctionRepository auctionRepository,
+      @Value("${auction.auto-close.tick:PT1S}") Duration tick,
+      @Value("${auction.auto-close.wheel-size:512}") int wheelSize,
+      @Value("${auction.auto-close.batch-size:100}") int batchSize,
+      @Value("${auction.auto-close.threads:2}") int threads,
+      @Value("${auction.auto-close.queue-size:64}") int queueSize) {
+    this.auctionLotService = auctionLotService;
+    this.auctionRepository = auctionRepository;
+    this.timerWheel = new TimerWheel(tick, wheelSize, Instant.now());
+    this.tickMillis = tick.toMillis();
+    this.batchSize = batchSize;
+    ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("auction-close-timer"));
+    closeExecutor = new ThreadPoolExecutor(threads, threads, 0, MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize), daemonThreads("auction-auto-close"),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    auctionRepository.getScheduledAuctions(AuctionLot.Status.OPENED)
+        .forEach(auctionLot -> timerWheel.schedule(auctionLot.getId(),
+            auctionLot.getClosingTime()));
+    ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, MILLISECONDS);
+  }
+
+  @EventListener
+  public void onAuctionCreated(AuctionCreatedEvent event) {
+    if (event.closingTime() != null) {
+      timerWheel.schedule(event.auctionId(), event.closingTime());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+    closeExecutor.shutdown();
+  }
+
+  private void tick() {
+    try {
+      var expired = timerWheel.advance(Instant.now());
+      for (int from = 0; from < expired.size(); from += batchSize) {
+        var batch = List.copyOf(expired.subList(from, min(from + batchSize, expired.size())));
+        closeExecutor.execute(() -> close(batch));
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Auction close timer tick failed", e);
+    }
+  }
+
+  private void close(List<Integer> batch) {
+    try {
+      auctionLotService.closeExpired(batch);
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        LOGGER.error("Could not close expired auction {}", batch.get(0), e);
+        return;
+      }
+      LOGGER.warn("Could not close expired auctions as a batch, closing one by one", e);
+      batch.forEach(id -> close(List.of(id)));
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    var count = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,90 @@
+package com.weareadaptive.auction.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of auction metadata by id, bounded by size with Caffeine's W-TinyLFU
+ * eviction. Status is the only field that changes, and only from open to closed: a close made by
+ * this node updates its entry in place, while an open entry expires after
+ * {@code auction.auction-cache.open-time-to-live} so that a close made by another node shows up
+ * within that time. Closed entries never go stale and only leave by eviction.
+ */
+@Component
+public class AuctionCache implements MeterBinder {
+  private final LoadingCache<Integer, AuctionResponse> auctions;
+
+  public AuctionCache(
+      AuctionRepository auctionRepository,
+      @Value("${auction.auction-cache.maximum-size:10000}") long maximumSize,
+      @Value("${auction.auction-cache.open-time-to-live:PT5S}") Duration openTimeToLive) {
+    var openNanos = openTimeToLive.toNanos();
+    auctions = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new Expiry<Integer, AuctionResponse>() {
+          @Override
+          public long expireAfterCreate(Integer id, AuctionResponse auction, long currentTime) {
+            return auction.status() == AuctionLot.Status.CLOSED ? Long.MAX_VALUE : openNanos;
+          }
+
+          @Override
+          public long expireAfterUpdate(Integer id, AuctionResponse auction, long currentTime,
+                                        long currentDuration) {
+            return expireAfterCreate(id, auction, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(Integer id, AuctionResponse auction, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build(id -> auctionRepository.getAuctionResponse(id).orElse(null));
+  }
+
+  public Optional<AuctionResponse> get(int id) {
+    return Optional.ofNullable(auctions.get(id));
+  }
+
+  public void put(AuctionLot auctionLot) {
+    auctions.put(auctionLot.getId(), new AuctionResponse(auctionLot.getId(),
+        auctionLot.getOwner(), auctionLot.getSymbol(), auctionLot.getMinPrice(),
+        auctionLot.getQuantity(), auctionLot.getStatus(), auctionLot.getClosingTime()));
+  }
+
+  /**
+   * Marks a cached auction as closed. Runs atomically with a load of the same id that is in
+   * flight, so a load that read the auction before the close cannot put it back as open.
+   */
+  public void closed(int id) {
+    auctions.asMap().computeIfPresent(id, (key, auction) -> new AuctionResponse(auction.id(),
+        auction.owner(), auction.symbol(), auction.minPrice(), auction.quantity(),
+        AuctionLot.Status.CLOSED, auction.closingTime()));
+  }
+
+  public void invalidate(int id) {
+    auctions.invalidate(id);
+  }
+
+  public CacheStats stats() {
+    return auctions.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, auctions, "auctions");
+  }
+}
@@ -0,0 +1,6 @@
+package com.weareadaptive.auction.service;
+
+import java.time.Instant;
+
+public record AuctionCreatedEvent(int auctionId, Instant closingTime) {
+}
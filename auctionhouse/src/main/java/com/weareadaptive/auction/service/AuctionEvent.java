@@ -0,0 +1,14 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+
+public sealed interface AuctionEvent {
+  int auctionId();
+
+  record BidAccepted(int auctionId, Bid bid) implements AuctionEvent {
+  }
+
+  record AuctionClosed(int auctionId, ClosingSummary closingSummary) implements AuctionEvent {
+  }
+}
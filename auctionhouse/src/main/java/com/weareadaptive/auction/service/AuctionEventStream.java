@@ -0,0 +1,209 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans auction events out to subscribers. Every subscription drains its own buffer serially, on a
+ * pool that starts a thread per drain up to {@code auction.stream.threads} before queueing, so a
+ * subscriber stuck on a slow socket only holds up itself while threads are free. Once the threads
+ * are busy and {@code auction.stream.queue-size} drains are waiting, a subscriber whose drain is
+ * rejected is evicted and its stream completed. A watchdog evicts any subscriber whose send has
+ * been blocked for longer than {@code auction.stream.send-timeout}; its stream is completed once
+ * the blocked send returns.
+ */
+@Component
+public class AuctionEventStream {
+  private final Map<Integer, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+  private final int bufferSize;
+  private final long sendTimeoutNanos;
+  private final ExecutorService dispatcher;
+  private final ScheduledExecutorService watchdog;
+
+  public AuctionEventStream(@Value("${auction.stream.buffer-size:256}") int bufferSize,
+                            @Value("${auction.stream.threads:16}") int threads,
+                            @Value("${auction.stream.queue-size:1024}") int queueSize,
+                            @Value("${auction.stream.send-timeout:PT5S}") Duration sendTimeout) {
+    this.bufferSize = bufferSize;
+    this.sendTimeoutNanos = sendTimeout.toNanos();
+    var count = new AtomicInteger();
+    var pool = new ThreadPoolExecutor(threads, threads, 60, SECONDS,
+        new ArrayBlockingQueue<>(queueSize), runnable -> {
+          var thread = new Thread(runnable, "auction-stream-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    pool.allowCoreThreadTimeOut(true);
+    dispatcher = pool;
+    watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "auction-stream-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    var period = Math.max(sendTimeout.toMillis() / 4, 1);
+    watchdog.scheduleAtFixedRate(this::evictBlocked, period, period, MILLISECONDS);
+  }
+
+  public Subscription subscribe(int auctionId, Subscriber subscriber) {
+    var subscription = new Subscription(auctionId, subscriber);
+    subscriptions.computeIfAbsent(auctionId, id -> ConcurrentHashMap.newKeySet())
+        .add(subscription);
+    return subscription;
+  }
+
+  public void publish(AuctionEvent event) {
+    var auctionSubscriptions = event instanceof AuctionEvent.AuctionClosed
+        ? subscriptions.remove(event.auctionId())
+        : subscriptions.get(event.auctionId());
+    if (auctionSubscriptions != null) {
+      auctionSubscriptions.forEach(subscription -> subscription.offer(event));
+    }
+  }
+
+  public int subscriberCount(int auctionId) {
+    var auctionSubscriptions = subscriptions.get(auctionId);
+    return auctionSubscriptions == null ? 0 : auctionSubscriptions.size();
+  }
+
+  private void evictBlocked() {
+    var now = System.nanoTime();
+    subscriptions.values().forEach(auctionSubscriptions ->
+        auctionSubscriptions.forEach(subscription -> subscription.evictIfBlocked(now)));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    watchdog.shutdownNow();
+    dispatcher.shutdownNow();
+  }
+
+  public interface Subscriber {
+    void onEvent(AuctionEvent event) throws Exception;
+
+    void onComplete();
+  }
+
+  public final class Subscription {
+    private final int auctionId;
+    private final Subscriber subscriber;
+    private final Queue<AuctionEvent> buffer = new ArrayDeque<>();
+    private boolean draining;
+    private boolean cancelled;
+    private boolean evicted;
+    private boolean sending;
+    private long sendStartedAt;
+    private long dropped;
+
+    private Subscription(int auctionId, Subscriber subscriber) {
+      this.auctionId = auctionId;
+      this.subscriber = subscriber;
+    }
+
+    public void cancel() {
+      synchronized (this) {
+        cancelled = true;
+        buffer.clear();
+      }
+      var auctionSubscriptions = subscriptions.get(auctionId);
+      if (auctionSubscriptions != null) {
+        auctionSubscriptions.remove(this);
+      }
+    }
+
+    public synchronized long dropped() {
+      return dropped;
+    }
+
+    public synchronized boolean evicted() {
+      return evicted;
+    }
+
+    private void evictIfBlocked(long now) {
+      synchronized (this) {
+        if (!sending || now - sendStartedAt < sendTimeoutNanos) {
+          return;
+        }
+        evicted = true;
+      }
+      cancel();
+    }
+
+    private void offer(AuctionEvent event) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        if (buffer.size() >= bufferSize) {
+          buffer.poll();
+          dropped++;
+        }
+        buffer.add(event);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      try {
+        dispatcher.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        synchronized (this) {
+          draining = false;
+          evicted = true;
+        }
+        cancel();
+        subscriber.onComplete();
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        AuctionEvent event;
+        synchronized (this) {
+          event = buffer.poll();
+          if (event == null || cancelled) {
+            draining = false;
+            return;
+          }
+          sending = true;
+          sendStartedAt = System.nanoTime();
+        }
+        try {
+          subscriber.onEvent(event);
+        } catch (Exception e) {
+          cancel();
+          return;
+        } finally {
+          synchronized (this) {
+            sending = false;
+          }
+        }
+        if (evicted()) {
+          subscriber.onComplete();
+          return;
+        }
+        if (event instanceof AuctionEvent.AuctionClosed) {
+          cancel();
+          subscriber.onComplete();
+          return;
+        }
+      }
+    }
+  }
+}
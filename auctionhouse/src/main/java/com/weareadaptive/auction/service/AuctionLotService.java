@@ -1,72 +1,262 @@
 package com.weareadaptive.auction.service;
 
 
-import static java.lang.Math.min;
+import static com.weareadaptive.auction.service.AuctionSequencer.await;
 import static java.lang.String.format;
-import static java.math.BigDecimal.valueOf;
-import static java.util.Collections.reverseOrder;
-import static java.util.Collections.unmodifiableList;
-import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingInt;
 
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
 import com.weareadaptive.auction.exception.EntityNotFoundException;
 import com.weareadaptive.auction.exception.UnauthorizedActivityException;
+import com.weareadaptive.auction.model.Allocation;
 import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionPage;
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BidOrder;
+import com.weareadaptive.auction.model.BidPage;
 import com.weareadaptive.auction.model.BusinessException;
 import com.weareadaptive.auction.model.ClosingSummary;
-import com.weareadaptive.auction.model.WinningBid;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.repository.AuctionFilter;
 import com.weareadaptive.auction.repository.AuctionRepository;
 import com.weareadaptive.auction.repository.BidRepository;
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 @Service
 public class AuctionLotService {
-  private static ClosingSummary closingSummary;
   private static Supplier<Instant> timeProvider;
   private final AuctionRepository auctionRepository;
   private final BidRepository bidRepository;
   private final UserService userService;
+  private final OrderBookService orderBookService;
+  private final AuctionCache auctionCache;
+  private final ClosingSummaryService closingSummaryService;
+  private final CloseEngine closeEngine;
+  private final AuctionSequencer sequencer;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AuctionEventStream eventStream;
+  private final int maxBatchSize;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int maxConflictAttempts;
 
   public AuctionLotService(AuctionRepository auctionRepository,
                            BidRepository bidRepository,
-                           UserService userService) {
+                           UserService userService,
+                           OrderBookService orderBookService,
+                           AuctionCache auctionCache,
+                           ClosingSummaryService closingSummaryService,
+                           CloseEngine closeEngine,
+                           AuctionSequencer sequencer,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           AuctionEventStream eventStream,
+                           @Value("${auction.bids.max-batch-size:500}") int maxBatchSize,
+                           @Value("${auction.listing.default-page-size:100}") int defaultPageSize,
+                           @Value("${auction.listing.max-page-size:1000}") int maxPageSize,
+                           @Value("${auction.conflict.max-attempts:3}") int maxConflictAttempts) {
     this.auctionRepository = auctionRepository;
     this.bidRepository = bidRepository;
     this.userService = userService;
+    this.orderBookService = orderBookService;
+    this.auctionCache = auctionCache;
+    this.closingSummaryService = closingSummaryService;
+    this.closeEngine = closeEngine;
+    this.sequencer = sequencer;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.eventStream = eventStream;
+    this.maxBatchSize = maxBatchSize;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.maxConflictAttempts = maxConflictAttempts;
     timeProvider = Instant::now;
   }
 
 
-  public AuctionLot create(String owner, String symbol, int quantity, double minPrice) {
-     userService.getByUsername(owner).orElseThrow(
+  public AuctionLot create(String owner, String symbol, int quantity, long minPrice) {
+    return create(owner, symbol, quantity, minPrice, null);
+  }
+
+  public AuctionLot create(String owner, String symbol, int quantity, long minPrice,
+                           Instant closingTime) {
+    return await(createAsync(owner, symbol, quantity, minPrice, closingTime));
+  }
+
+  public CompletableFuture<AuctionLot> createAsync(String owner, String symbol, int quantity,
+                                                   long minPrice, Instant closingTime) {
+    return sequencer.submit(() -> applyCreate(owner, symbol, quantity, minPrice, closingTime));
+  }
+
+  private AuctionLot applyCreate(String owner, String symbol, int quantity, long minPrice,
+                                 Instant closingTime) {
+    userService.getSummary(owner).orElseThrow(
         () -> new BusinessException("Invalid Username"));
-    var auctionLot = new AuctionLot(owner, symbol, quantity, minPrice);
+    if (closingTime != null && !closingTime.isAfter(timeProvider.get())) {
+      throw new BusinessException("closingTime must be in the future");
+    }
+    var auctionLot = new AuctionLot(owner, symbol, quantity, minPrice, closingTime);
     auctionRepository.save(auctionLot);
+    orderBookService.open(auctionLot);
+    auctionCache.put(auctionLot);
+    eventPublisher.publishEvent(new AuctionCreatedEvent(auctionLot.getId(), closingTime));
     return auctionLot;
   }
 
-  public List<AuctionLot> getAllAuctions(String username) {
-    return auctionRepository.getAllUserAuctions(username);
+  public AuctionPage getAuctions(AuctionFilter filter, Integer cursor, Integer limit) {
+    var pageSize = pageSize(limit);
+    var auctions = auctionRepository.search(filter, cursor, pageSize + 1);
+    if (auctions.size() <= pageSize) {
+      return new AuctionPage(auctions, null);
+    }
+    var page = auctions.subList(0, pageSize);
+    return new AuctionPage(page, page.get(pageSize - 1).id());
   }
 
   public Optional<AuctionLot> getAuctionById(int id) {
     return auctionRepository.findById(id);
   }
 
+  public Optional<AuctionResponse> getAuctionResponse(int id) {
+    return auctionCache.get(id);
+  }
+
+
+  public Bid bid(int id, String userName, int quantity, long price) {
+    return await(bidAsync(id, userName, quantity, price));
+  }
+
+  public CompletableFuture<Bid> bidAsync(int id, String userName, int quantity, long price) {
+    return sequencer.submit(() -> applyBid(id, userName, quantity, price));
+  }
 
-  public Bid bid(int id, String userName, int quantity, double price) {
+  private Bid applyBid(int id, String userName, int quantity, long price) {
+    return retryOnConflict(() -> tryBid(id, userName, quantity, price));
+  }
 
-    var auction = getAuctionById(id)
+  private Bid tryBid(int id, String userName, int quantity, long price) {
+    var orderBook = orderBookService.get(id)
         .orElseThrow(() -> new BusinessException("Invalid Auction Id"));
+    validateBid(orderBook.getAuctionLot(), userName, quantity, price);
+
+    var bidder = userService.getSummary(userName)
+        .orElseThrow(() -> new BusinessException("Invalid User name"));
+
+    Bid newBid = new Bid(id, bidder.username(), quantity, price);
+    transactionTemplate.executeWithoutResult(status -> {
+      updateVersions(List.of(orderBook.getAuctionLot()));
+      bidRepository.save(newBid);
+    });
+    bumpVersion(orderBook.getAuctionLot());
+    orderBook.add(newBid);
+    eventStream.publish(new AuctionEvent.BidAccepted(id, newBid));
+    return newBid;
+  }
+
+  public List<Bid> bids(String userName, List<BidOrder> bidOrders) {
+    return await(bidsAsync(userName, bidOrders));
+  }
+
+  public CompletableFuture<List<Bid>> bidsAsync(String userName, List<BidOrder> bidOrders) {
+    return sequencer.submit(() -> applyBids(userName, bidOrders));
+  }
 
+  private List<Bid> applyBids(String userName, List<BidOrder> bidOrders) {
+    if (bidOrders.isEmpty()) {
+      throw new BusinessException("bids cannot be empty");
+    }
+    if (bidOrders.size() > maxBatchSize) {
+      throw new BusinessException(format("cannot submit more than %s bids at once", maxBatchSize));
+    }
+    return retryOnConflict(() -> tryBids(userName, bidOrders));
+  }
+
+  private List<Bid> tryBids(String userName, List<BidOrder> bidOrders) {
+    var bidder = userService.getSummary(userName)
+        .orElseThrow(() -> new BusinessException("Invalid User name"));
+
+    var orderBooks = new HashMap<Integer, OrderBook>();
+    var newBids = new ArrayList<Bid>(bidOrders.size());
+    for (BidOrder bidOrder : bidOrders) {
+      var orderBook = orderBooks.computeIfAbsent(bidOrder.auctionId(),
+          auctionId -> orderBookService.get(auctionId)
+              .orElseThrow(() -> new BusinessException("Invalid Auction Id")));
+      validateBid(orderBook.getAuctionLot(), userName, bidOrder.quantity(), bidOrder.price());
+      newBids.add(
+          new Bid(bidOrder.auctionId(), bidder.username(), bidOrder.quantity(), bidOrder.price()));
+    }
+
+    var auctionLots = orderBooks.values().stream()
+        .map(OrderBook::getAuctionLot)
+        .sorted(comparingInt(AuctionLot::getId))
+        .toList();
+    transactionTemplate.executeWithoutResult(status -> {
+      updateVersions(auctionLots);
+      bidRepository.saveAll(newBids);
+    });
+    auctionLots.forEach(AuctionLotService::bumpVersion);
+    newBids.forEach(bid -> {
+      orderBooks.get(bid.getId()).add(bid);
+      eventStream.publish(new AuctionEvent.BidAccepted(bid.getId(), bid));
+    });
+    return newBids;
+  }
+
+  /**
+   * Bumps the version of every auction in the current transaction, which locks their rows until it
+   * commits, and fails it when an auction has changed in the database since its order book was
+   * loaded, for instance because another node bid on it or closed it. A close on another node
+   * therefore either waits for the bids and allocates them, or commits first and makes them fail.
+   * The stale order book is dropped so that a retry validates against the database again. Callers
+   * lock auctions in id order so that two batches cannot deadlock.
+   */
+  private void updateVersions(List<AuctionLot> auctionLots) {
+    for (AuctionLot auctionLot : auctionLots) {
+      if (auctionRepository.updateVersion(auctionLot.getId(), auctionLot.getVersion()) == 0) {
+        orderBookService.remove(auctionLot.getId());
+        auctionCache.invalidate(auctionLot.getId());
+        throw new ObjectOptimisticLockingFailureException(AuctionLot.class, auctionLot.getId());
+      }
+    }
+  }
+
+  private static void bumpVersion(AuctionLot auctionLot) {
+    auctionLot.setVersion(auctionLot.getVersion() + 1);
+  }
+
+  private <T> T retryOnConflict(Supplier<T> action) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return action.get();
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= maxConflictAttempts) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private void validateBid(AuctionLot auction, String userName, int quantity, long price) {
     if (auction.getStatus() == AuctionLot.Status.CLOSED) {
       throw new BusinessException("Cannot close an already closed.");
     }
@@ -80,29 +270,71 @@ public class AuctionLotService {
     }
 
     if (price < auction.getMinPrice()) {
-      throw new BusinessException(format("price needs to be above %s", auction.getMinPrice()));
+      throw new BusinessException(format("price needs to be above %s",
+          Price.toDecimal(auction.getMinPrice())));
     }
 
-    var bidder = userService.getByUsername(userName)
-        .orElseThrow(() -> new BusinessException("Invalid User name"));
-
-    Bid newBid = new Bid(id, bidder.getUsername(), quantity, price);
-    bidRepository.save(newBid);
-    return newBid;
+    if (price > Price.maxPrice(auction.getQuantity())) {
+      throw new BusinessException(format("price needs to be at most %s",
+          Price.toDecimal(Price.maxPrice(auction.getQuantity()))));
+    }
   }
 
   public List<Bid> getAllAuctionBids(String username, int id) {
-    AuctionLot auctionLot = auctionRepository.findById(id)
+    checkCanViewBids(username, id);
+    return bidRepository.getAllAuctionBids(id);
+  }
+
+  public BidPage getAuctionBids(String username, int id, Integer cursor, Integer limit) {
+    checkCanViewBids(username, id);
+    var pageSize = pageSize(limit);
+    var pageable = PageRequest.of(0, pageSize + 1);
+    var bids = cursor == null
+        ? bidRepository.getAuctionBids(id, pageable)
+        : bidRepository.getAuctionBidsAfter(id, cursor, pageable);
+    if (bids.size() <= pageSize) {
+      return new BidPage(bids, null);
+    }
+    var page = bids.subList(0, pageSize);
+    return new BidPage(page, page.get(pageSize - 1).bidId());
+  }
+
+  public void forEachAuctionBid(int id, Consumer<BidResponse> action) {
+    bidRepository.forEachAuctionBid(id, action);
+  }
+
+  public void checkCanViewBids(String username, int id) {
+    var auction = auctionCache.get(id)
         .orElseThrow(() -> new EntityNotFoundException("Auction not found"));
-    if (auctionLot.getOwner().equals(username)) {
-      return bidRepository.getAllAuctionBids(id);
+    if (!auction.owner().equals(username)) {
+      throw new UnauthorizedActivityException("User can not view Bids");
+    }
+  }
+
+  private int pageSize(Integer limit) {
+    var pageSize = limit == null ? defaultPageSize : limit;
+    if (pageSize < 1 || pageSize > maxPageSize) {
+      throw new BusinessException(format("limit must be between 1 and %s", maxPageSize));
     }
-    throw new UnauthorizedActivityException("User can not view Bids");
+    return pageSize;
   }
 
   public ClosingSummary closeAuction(int id, String username) {
-    AuctionLot auctionLot =
-        getAuctionById(id).orElseThrow(() -> new EntityNotFoundException("Auction not found"));
+    return await(closeAuctionAsync(id, username));
+  }
+
+  public CompletableFuture<ClosingSummary> closeAuctionAsync(int id, String username) {
+    return sequencer.submit(() -> applyClose(id, username));
+  }
+
+  private ClosingSummary applyClose(int id, String username) {
+    return retryOnConflict(() -> tryClose(id, username));
+  }
+
+  private ClosingSummary tryClose(int id, String username) {
+    var orderBook = orderBookService.get(id)
+        .orElseThrow(() -> new EntityNotFoundException("Auction not found"));
+    AuctionLot auctionLot = orderBook.getAuctionLot();
     if (auctionLot.getStatus() == AuctionLot.Status.CLOSED) {
       throw new BusinessException("Cannot close because already closed.");
     }
@@ -110,45 +342,112 @@ public class AuctionLotService {
       throw new UnauthorizedActivityException("User can not close this auction");
     }
 
+    var closingSummary = close(List.of(orderBook), timeProvider.get()).get(id);
+    if (closingSummary == null) {
+      auctionCache.closed(id);
+      throw new BusinessException("Cannot close because already closed.");
+    }
+    return closingSummary;
+  }
+
+  public List<ClosingSummary> closeExpired(List<Integer> ids) {
+    return await(closeExpiredAsync(ids));
+  }
+
+  public CompletableFuture<List<ClosingSummary>> closeExpiredAsync(List<Integer> ids) {
+    return sequencer.submit(() -> applyCloseExpired(ids));
+  }
+
+  private List<ClosingSummary> applyCloseExpired(List<Integer> ids) {
+    return retryOnConflict(() -> tryCloseExpired(ids));
+  }
 
-    var orderedBids = getAllAuctionBids(username, id)
-        .stream()
-        .sorted(reverseOrder(comparing(Bid::getPrice))
-            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
+  private List<ClosingSummary> tryCloseExpired(List<Integer> ids) {
+    var now = timeProvider.get();
+    var expiredOrderBooks = ids.stream()
+        .map(orderBookService::get)
+        .flatMap(Optional::stream)
+        .filter(orderBook -> isExpired(orderBook.getAuctionLot(), now))
         .toList();
-    var availableQuantity = auctionLot.getQuantity();
-    var revenue = BigDecimal.ZERO;
-    var winningBids = new ArrayList<WinningBid>();
-
-    for (Bid bid : orderedBids) {
-      if (availableQuantity > 0) {
-        var bidQuantity = min(availableQuantity, bid.getQuantity());
-
-        winningBids.add(new WinningBid(bidQuantity, bid));
-        bid.win(bidQuantity);
-        availableQuantity -= bidQuantity;
-        revenue = revenue.add(valueOf(bidQuantity).multiply(valueOf(bid.getPrice())));
-      } else {
-        bid.lost();
-      }
+    return List.copyOf(close(expiredOrderBooks, now).values());
+  }
+
+  private static boolean isExpired(AuctionLot auctionLot, Instant now) {
+    return auctionLot.getStatus() == AuctionLot.Status.OPENED
+        && auctionLot.getClosingTime() != null
+        && !auctionLot.getClosingTime().isAfter(now);
+  }
+
+  /**
+   * Closes the auctions that are still open in the database and returns their summaries by id.
+   * The status is flipped before allocating, so when several nodes close the same auction only the
+   * first allocates and the others skip it.
+   */
+  private Map<Integer, ClosingSummary> close(List<OrderBook> orderBooks, Instant closingTime) {
+    Map<Integer, ClosingSummary> closingSummaries;
+    try {
+      closingSummaries = transactionTemplate.execute(status -> {
+        var closed = new LinkedHashMap<Integer, ClosingSummary>();
+        for (OrderBook orderBook : orderBooks) {
+          var id = orderBook.getAuctionLot().getId();
+          if (auctionRepository.updateStatus(id, AuctionLot.Status.OPENED,
+              AuctionLot.Status.CLOSED) == 1) {
+            var summary = closeEngine.close(orderBook, closingTime);
+            closed.put(id, closingSummaryService.save(id, summary));
+          }
+        }
+        return closed;
+      });
+    } finally {
+      orderBooks.forEach(orderBook -> orderBookService.remove(orderBook.getAuctionLot().getId()));
     }
+    closingSummaries.keySet().forEach(auctionCache::closed);
+    closingSummaries.forEach((id, closingSummary) ->
+        eventStream.publish(new AuctionEvent.AuctionClosed(id, closingSummary)));
+    return closingSummaries;
+  }
 
-    auctionRepository.close(id, AuctionLot.Status.CLOSED);
-    closingSummary =
-        new ClosingSummary(unmodifiableList(winningBids),
-            auctionLot.getQuantity() - availableQuantity,
-            revenue, timeProvider.get());
-    return closingSummary;
+  public AuctionEventStream.Subscription subscribe(int id, String username,
+                                                   AuctionEventStream.Subscriber subscriber) {
+    return await(sequencer.submit(() -> applySubscribe(id, username, subscriber)));
+  }
 
+  private AuctionEventStream.Subscription applySubscribe(int id, String username,
+                                                         AuctionEventStream.Subscriber subscriber) {
+    var auctionLot = orderBookService.get(id)
+        .orElseThrow(() -> new EntityNotFoundException("Auction not found"))
+        .getAuctionLot();
+    if (!auctionLot.getOwner().equals(username)) {
+      throw new UnauthorizedActivityException("User can not view Bids");
+    }
+    if (auctionLot.getStatus() == AuctionLot.Status.CLOSED) {
+      throw new BusinessException("Auction is already closed");
+    }
+    return eventStream.subscribe(id, subscriber);
+  }
+
+  public Allocation getProvisionalAllocation(String username, int id) {
+    var orderBook = orderBookService.get(id)
+        .orElseThrow(() -> new EntityNotFoundException("Auction not found"));
+    var auctionLot = orderBook.getAuctionLot();
+    if (!auctionLot.getOwner().equals(username)) {
+      throw new UnauthorizedActivityException("User can not view the provisional allocation");
+    }
+    if (auctionLot.getStatus() == AuctionLot.Status.CLOSED) {
+      throw new BusinessException("Auction is already closed");
+    }
+    return orderBook.allocation();
   }
 
   public ClosingSummary getClosingSummary(String username, int id) {
-    AuctionLot auctionLot = auctionRepository.getById(id);
-    if (auctionLot.getStatus() == AuctionLot.Status.OPENED) {
+    var auction = auctionCache.get(id)
+        .orElseThrow(() -> new EntityNotFoundException("Auction not found"));
+    if (auction.status() == AuctionLot.Status.OPENED) {
       throw new BusinessException("Auction not closed yet");
     }
-    if (auctionLot.getOwner().equals(username)) {
-      return closingSummary;
+    if (auction.owner().equals(username)) {
+      return closingSummaryService.get(id)
+          .orElseThrow(() -> new EntityNotFoundException("Closing summary not found"));
     }
     throw new UnauthorizedActivityException("User can not view Closing Summary");
   }
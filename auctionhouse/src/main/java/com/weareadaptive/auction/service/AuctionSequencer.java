@@ -0,0 +1,100 @@
+package com.weareadaptive.auction.service;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuctionSequencer {
+  private static final String THREAD_NAME = "auction-sequencer";
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final Disruptor<Command> disruptor;
+  private final RingBuffer<Command> ringBuffer;
+  private final Durability durability;
+  private volatile Thread sequencerThread;
+
+  public AuctionSequencer(@Value("${auction.sequencer.buffer-size:1024}") int bufferSize,
+                          Optional<Durability> durability) {
+    this.durability = durability.orElse(Durability.IMMEDIATE);
+    disruptor = new Disruptor<>(Command::new, bufferSize, runnable -> {
+      var thread = new Thread(runnable, THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    }, ProducerType.MULTI, new BlockingWaitStrategy());
+    disruptor.handleEventsWith(this::onCommand);
+    ringBuffer = disruptor.start();
+  }
+
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> action) {
+    var result = new CompletableFuture<T>();
+    if (Thread.currentThread() == sequencerThread) {
+      // The outer command is held back until durable, so a nested one need not be.
+      apply(action, result, Durability.IMMEDIATE);
+      return result;
+    }
+    ringBuffer.publishEvent((command, sequence) -> command.set(action, result));
+    return result;
+  }
+
+  @PreDestroy
+  public void shutdown() throws TimeoutException {
+    disruptor.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  private void onCommand(Command command, long sequence, boolean endOfBatch) {
+    sequencerThread = Thread.currentThread();
+    try {
+      apply(command.action, command.result, durability);
+    } finally {
+      command.clear();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void apply(Supplier<?> action, CompletableFuture<T> result,
+                                Durability durability) {
+    try {
+      var value = (T) action.get();
+      durability.whenDurable(() -> result.complete(value));
+    } catch (RuntimeException e) {
+      durability.whenDurable(() -> result.completeExceptionally(e));
+    }
+  }
+
+  private static final class Command {
+    private Supplier<?> action;
+    private CompletableFuture<?> result;
+
+    private void set(Supplier<?> action, CompletableFuture<?> result) {
+      this.action = action;
+      this.result = result;
+    }
+
+    private void clear() {
+      action = null;
+      result = null;
+    }
+  }
+}
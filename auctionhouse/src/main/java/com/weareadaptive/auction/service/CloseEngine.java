@@ -0,0 +1,9 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.OrderBook;
+import java.time.Instant;
+
+public interface CloseEngine {
+  ClosingSummary close(OrderBook orderBook, Instant closingTime);
+}
@@ -0,0 +1,89 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosedAuction;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.WinningBid;
+import com.weareadaptive.auction.repository.BidRepository;
+import com.weareadaptive.auction.repository.ClosedAuctionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class ClosingSummaryService implements MeterBinder {
+  private final ClosedAuctionRepository closedAuctionRepository;
+  private final BidRepository bidRepository;
+  private final LoadingCache<Integer, ClosingSummary> closingSummaries;
+
+  public ClosingSummaryService(
+      ClosedAuctionRepository closedAuctionRepository,
+      BidRepository bidRepository,
+      @Value("${auction.closing-summary-cache.maximum-size:10000}") long maximumSize) {
+    this.closedAuctionRepository = closedAuctionRepository;
+    this.bidRepository = bidRepository;
+    closingSummaries = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build(this::load);
+  }
+
+  public ClosingSummary save(int auctionId, ClosingSummary summary) {
+    var closingSummary = new ClosingSummary(summary.winningBids(), summary.totalSoldQuantity(),
+        summary.totalRevenue(), summary.closingTime().truncatedTo(ChronoUnit.MICROS));
+    closedAuctionRepository.save(new ClosedAuction(auctionId, closingSummary));
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      closingSummaries.put(auctionId, closingSummary);
+      return closingSummary;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        closingSummaries.put(auctionId, closingSummary);
+      }
+    });
+    return closingSummary;
+  }
+
+  public Optional<ClosingSummary> get(int auctionId) {
+    return Optional.ofNullable(closingSummaries.get(auctionId));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, closingSummaries, "closingSummaries");
+  }
+
+  private ClosingSummary load(int auctionId) {
+    return closedAuctionRepository.getClosedAuction(auctionId)
+        .map(this::toClosingSummary)
+        .orElse(null);
+  }
+
+  private ClosingSummary toClosingSummary(ClosedAuction closedAuction) {
+    var bidIds = closedAuction.getAllocations().stream()
+        .map(ClosedAuction.Allocation::getBidId)
+        .toList();
+    var bids = bidRepository.findAllById(bidIds).stream()
+        .collect(toMap(Bid::getBidId, identity()));
+    var winningBids = closedAuction.getAllocations().stream()
+        .map(allocation -> new WinningBid(allocation.getQuantity(),
+            bids.get(allocation.getBidId())))
+        .toList();
+
+    return new ClosingSummary(winningBids, closedAuction.getTotalSoldQuantity(),
+        closedAuction.getTotalRevenue(), closedAuction.getClosingTime());
+  }
+}
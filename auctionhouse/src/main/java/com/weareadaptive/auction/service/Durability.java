@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.service;
+
+/**
+ * Decides when the caller of a sequenced command hears back. By default that is as soon as the
+ * command has run; a journal can hold results back until what the command wrote is on disk, and
+ * release many commands with one flush.
+ */
+public interface Durability {
+  Durability IMMEDIATE = Runnable::run;
+
+  /**
+   * Runs {@code acknowledgement} once everything written so far is durable, possibly on another
+   * thread.
+   */
+  void whenDurable(Runnable acknowledgement);
+}
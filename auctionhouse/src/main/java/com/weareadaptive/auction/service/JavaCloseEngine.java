@@ -0,0 +1,46 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.model.WinningBid;
+import com.weareadaptive.auction.repository.BidRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "auction.close-engine", havingValue = "java", matchIfMissing = true)
+public class JavaCloseEngine implements CloseEngine {
+  private final BidRepository bidRepository;
+
+  public JavaCloseEngine(BidRepository bidRepository) {
+    this.bidRepository = bidRepository;
+  }
+
+  /**
+   * Allocates from the order book, unless the database holds pending bids the book has not seen,
+   * such as bids accepted by another node. The book is then reloaded first, so the sweep that
+   * marks the remaining pending bids LOST never catches a bid that should have won. A book only
+   * ever holds committed bids, so equal counts mean the same bids.
+   */
+  @Override
+  public ClosingSummary close(OrderBook orderBook, Instant closingTime) {
+    var auctionLot = orderBook.getAuctionLot();
+    if (bidRepository.countByState(auctionLot.getId(), Bid.State.PENDING) != orderBook.size()) {
+      orderBook = new OrderBook(auctionLot, bidRepository.getAllAuctionBids(auctionLot.getId()));
+    }
+    var allocation = orderBook.allocation();
+    var winners = new ArrayList<Bid>(allocation.winningBids().size());
+    for (WinningBid winningBid : allocation.winningBids()) {
+      winningBid.originalBid().win(winningBid.quantity());
+      winners.add(winningBid.originalBid());
+    }
+    bidRepository.saveAll(winners);
+    bidRepository.losePendingBids(auctionLot.getId());
+
+    return new ClosingSummary(allocation.winningBids(), allocation.totalSoldQuantity(),
+        allocation.totalRevenue(), closingTime);
+  }
+}
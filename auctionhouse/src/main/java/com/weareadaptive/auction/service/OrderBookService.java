@@ -0,0 +1,71 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import com.weareadaptive.auction.repository.BidRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OrderBookService {
+  private final Map<Integer, OrderBook> orderBooks = new ConcurrentHashMap<>();
+  private final AuctionRepository auctionRepository;
+  private final BidRepository bidRepository;
+  private final AuctionCache auctionCache;
+
+  public OrderBookService(AuctionRepository auctionRepository, BidRepository bidRepository,
+                          AuctionCache auctionCache) {
+    this.auctionRepository = auctionRepository;
+    this.bidRepository = bidRepository;
+    this.auctionCache = auctionCache;
+  }
+
+  public void open(AuctionLot auctionLot) {
+    orderBooks.put(auctionLot.getId(), new OrderBook(auctionLot));
+  }
+
+  /**
+   * Open auctions are served from their order book. A closed auction has none, so bids and closes
+   * that keep arriving for it are answered from the auction cache with an empty book rather than
+   * reading the auction again each time.
+   */
+  public Optional<OrderBook> get(int auctionId) {
+    var orderBook = orderBooks.get(auctionId);
+    if (orderBook != null) {
+      return Optional.of(orderBook);
+    }
+    var auction = auctionCache.get(auctionId);
+    if (auction.isEmpty()) {
+      return Optional.empty();
+    }
+    if (auction.get().status() == AuctionLot.Status.CLOSED) {
+      return Optional.of(new OrderBook(toAuctionLot(auction.get()), List.of()));
+    }
+    return auctionRepository.findById(auctionId).map(this::load);
+  }
+
+  public void remove(int auctionId) {
+    orderBooks.remove(auctionId);
+  }
+
+  private static AuctionLot toAuctionLot(AuctionResponse auction) {
+    var auctionLot = new AuctionLot(auction.owner(), auction.symbol(), auction.quantity(),
+        auction.minPrice(), auction.closingTime());
+    auctionLot.setId(auction.id());
+    auctionLot.setStatus(auction.status());
+    return auctionLot;
+  }
+
+  private OrderBook load(AuctionLot auctionLot) {
+    if (auctionLot.getStatus() == AuctionLot.Status.CLOSED) {
+      return new OrderBook(auctionLot, List.of());
+    }
+    return orderBooks.computeIfAbsent(auctionLot.getId(),
+        id -> new OrderBook(auctionLot, bidRepository.getAllAuctionBids(id)));
+  }
+}
@@ -0,0 +1,46 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.model.WinningBid;
+import com.weareadaptive.auction.repository.BidAllocation;
+import com.weareadaptive.auction.repository.BidAllocationRepository;
+import java.time.Instant;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "auction.close-engine", havingValue = "sql")
+public class SqlCloseEngine implements CloseEngine {
+  private final BidAllocationRepository bidAllocationRepository;
+
+  public SqlCloseEngine(BidAllocationRepository bidAllocationRepository) {
+    this.bidAllocationRepository = bidAllocationRepository;
+  }
+
+  @Override
+  public ClosingSummary close(OrderBook orderBook, Instant closingTime) {
+    var auctionLot = orderBook.getAuctionLot();
+    var allocations = bidAllocationRepository.allocate(auctionLot.getId(),
+        auctionLot.getQuantity());
+    var winningBids = allocations.stream()
+        .map(allocation -> toWinningBid(auctionLot.getId(), allocation))
+        .toList();
+
+    if (allocations.isEmpty()) {
+      return new ClosingSummary(winningBids, 0, 0, closingTime);
+    }
+    var totals = allocations.get(0);
+    return new ClosingSummary(winningBids, totals.getTotalSoldQuantity(),
+        totals.getTotalRevenue(), closingTime);
+  }
+
+  private static WinningBid toWinningBid(int auctionId, BidAllocation allocation) {
+    var bid = new Bid(auctionId, allocation.getOwner(), allocation.getQuantity(),
+        allocation.getPrice());
+    bid.setBidId(allocation.getBidId());
+    bid.win(allocation.getWinQuantity());
+    return new WinningBid(allocation.getWinQuantity(), bid);
+  }
+}
@@ -0,0 +1,73 @@
+package com.weareadaptive.auction.service;
+
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerWheel {
+  private final long tickMillis;
+  private final long startMillis;
+  private final List<List<Deadline>> buckets;
+  private long currentTick;
+  private int size;
+
+  public TimerWheel(Duration tickDuration, int wheelSize, Instant startTime) {
+    if (tickDuration.toMillis() <= 0) {
+      throw new IllegalArgumentException("tickDuration must be at least one millisecond");
+    }
+    if (wheelSize <= 0) {
+      throw new IllegalArgumentException("wheelSize must be above 0");
+    }
+    tickMillis = tickDuration.toMillis();
+    startMillis = startTime.toEpochMilli();
+    buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayList<>());
+    }
+  }
+
+  public synchronized void schedule(int id, Instant deadline) {
+    var elapsed = deadline.toEpochMilli() - startMillis;
+    var tick = max(currentTick, -floorDiv(-elapsed, tickMillis));
+    bucket(tick).add(new Deadline(id, tick));
+    size++;
+  }
+
+  public synchronized List<Integer> advance(Instant now) {
+    var targetTick = floorDiv(now.toEpochMilli() - startMillis, tickMillis);
+    var expired = new ArrayList<Integer>();
+    if (targetTick < currentTick) {
+      return expired;
+    }
+
+    var ticksToVisit = min(targetTick - currentTick + 1, buckets.size());
+    for (long tick = currentTick; tick < currentTick + ticksToVisit; tick++) {
+      bucket(tick).removeIf(deadline -> {
+        if (deadline.tick() > targetTick) {
+          return false;
+        }
+        expired.add(deadline.id());
+        return true;
+      });
+    }
+    size -= expired.size();
+    currentTick = targetTick + 1;
+    return expired;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private List<Deadline> bucket(long tick) {
+    return buckets.get((int) (tick % buckets.size()));
+  }
+
+  private record Deadline(int id, long tick) {
+  }
+}
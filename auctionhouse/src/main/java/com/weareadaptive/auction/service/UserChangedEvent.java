@@ -0,0 +1,4 @@
+package com.weareadaptive.auction.service;
+
+public record UserChangedEvent(int userId, String username) {
+}
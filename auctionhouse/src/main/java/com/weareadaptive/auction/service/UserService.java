@@ -1,20 +1,28 @@
 package com.weareadaptive.auction.service;
 
+import com.weareadaptive.auction.controller.dto.UserResponse;
 import com.weareadaptive.auction.exception.EntityNotFoundException;
 import com.weareadaptive.auction.model.BusinessException;
 import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.model.UserSummary;
 import com.weareadaptive.auction.repository.UserRepository;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
   private final UserRepository userRepository;
+  private final UserSummaryCache userSummaryCache;
+  private final ApplicationEventPublisher eventPublisher;
 
 
-  public UserService(UserRepository userRepository) {
+  public UserService(UserRepository userRepository, UserSummaryCache userSummaryCache,
+                     ApplicationEventPublisher eventPublisher) {
     this.userRepository = userRepository;
+    this.userSummaryCache = userSummaryCache;
+    this.eventPublisher = eventPublisher;
   }
 
   public User create(String username, String password, String firstName, String lastName,
@@ -27,10 +35,12 @@ public class UserService {
     newUser.setAdmin(false);
     newUser.setOrganisation(organisation);
 
-    if (userRepository.getByUsername(username).isPresent()) {
+    if (userSummaryCache.get(username).isPresent()) {
       throw new BusinessException("User already exist");
     }
+    var loadedAt = userSummaryCache.epoch();
     userRepository.save(newUser);
+    userSummaryCache.put(newUser, loadedAt);
     return newUser;
   }
 
@@ -38,31 +48,53 @@ public class UserService {
     return userRepository.findById(id);
   }
 
+  public Optional<UserResponse> getUserResponse(int id) {
+    return userRepository.getUserResponse(id);
+  }
+
   public List<User> getAllUsers() {
     return userRepository.findAll();
   }
 
+  public List<UserResponse> getAllUserResponses() {
+    return userRepository.getAllUserResponses();
+  }
+
   public User update(int id, String firstName, String lastName, String organisationName) {
     int update=userRepository.update(id,firstName,lastName,organisationName);
     if(update==1){
-      return get(id).get();
+      var user = get(id).get();
+      eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername()));
+      return user;
     }
     throw new EntityNotFoundException(" User does not exist");
   }
 
+  /**
+   * Also caches the summary of the user it finds, so that the request being authenticated does
+   * not read the user again to validate what it does.
+   */
   public Optional<User> validateUsernamePassword(String username, String password) {
-    return userRepository.validateUsernamePassword(username, password);
+    var loadedAt = userSummaryCache.epoch();
+    var user = userRepository.validateUsernamePassword(username, password);
+    user.ifPresent(found -> userSummaryCache.put(found, loadedAt));
+    return user;
   }
 
   public Optional<User> getByUsername(String username) {
     return userRepository.getByUsername(username);
   }
 
+  public Optional<UserSummary> getSummary(String username) {
+    return userSummaryCache.get(username);
+  }
+
   public void block(int id) {
     int blocked = userRepository.block(id);
     if (blocked == 0) {
       throw new EntityNotFoundException("User not found");
     }
+    publishChanged(id);
 //   User user= get(id).orElseThrow(()->new EntityNotFoundException("User does not exist"));
 //    user.setBlocked(true);
 //    userRepository.save(user);
@@ -73,8 +105,14 @@ public class UserService {
     if (blocked == 0) {
       throw new EntityNotFoundException("User not found");
     }
+    publishChanged(id);
 //    User user= get(id).orElseThrow(()->new EntityNotFoundException("User does not exist"));
 //    user.setBlocked(false);
 
   }
+
+  private void publishChanged(int id) {
+    get(id).ifPresent(user ->
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername())));
+  }
 }
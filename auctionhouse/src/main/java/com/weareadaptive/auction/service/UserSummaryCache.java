@@ -0,0 +1,101 @@
+package com.weareadaptive.auction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.model.UserSummary;
+import com.weareadaptive.auction.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of user summaries by username. Entries are dropped when a
+ * {@link UserChangedEvent} is published, and expire after {@code auction.user-cache.time-to-live}.
+ * Like the {@link com.weareadaptive.auction.security.CredentialCache}, every entry remembers the
+ * invalidation epoch it was read in, and an entry read before its user was last changed is
+ * reloaded, which covers a load still in flight when the change was published. Unknown usernames
+ * are not cached.
+ */
+@Component
+public class UserSummaryCache implements MeterBinder {
+  private final Cache<String, Entry> userSummaries;
+  private final UserRepository userRepository;
+  private final AtomicLong epoch = new AtomicLong();
+  private final Map<Integer, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+  public UserSummaryCache(UserRepository userRepository,
+                          @Value("${auction.user-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${auction.user-cache.time-to-live:PT5M}")
+                              Duration timeToLive) {
+    this.userRepository = userRepository;
+    userSummaries = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build();
+  }
+
+  public Optional<UserSummary> get(String username) {
+    while (true) {
+      var loadedAt = epoch.get();
+      var entry = userSummaries.get(username, key -> userRepository.getByUsername(key)
+          .map(user -> new Entry(toSummary(user), loadedAt))
+          .orElse(null));
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (entry.loadedAt() >= invalidatedAt.getOrDefault(entry.userSummary().id(), 0L)) {
+        return Optional.of(entry.userSummary());
+      }
+      userSummaries.asMap().remove(username, entry);
+    }
+  }
+
+  /**
+   * The epoch to pass to {@link #put}, read before the user is.
+   */
+  public long epoch() {
+    return epoch.get();
+  }
+
+  /**
+   * Caches a user read elsewhere. {@code loadedAt} is the {@link #epoch()} from before the read,
+   * so a user changed since is read again on the next lookup.
+   */
+  public void put(User user, long loadedAt) {
+    userSummaries.put(user.getUsername(), new Entry(toSummary(user), loadedAt));
+  }
+
+  @EventListener
+  public void onUserChanged(UserChangedEvent event) {
+    invalidatedAt.put(event.userId(), epoch.incrementAndGet());
+    userSummaries.invalidate(event.username());
+  }
+
+  public CacheStats stats() {
+    return userSummaries.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, userSummaries, "userSummaries");
+  }
+
+  private static UserSummary toSummary(User user) {
+    return new UserSummary(user.getId(), user.getUsername(), user.isAdmin(), user.isBlocked(),
+        user.getOrganisation());
+  }
+
+  private record Entry(UserSummary userSummary, long loadedAt) {
+  }
+}
@@ -0,0 +1,2 @@
+ALTER TABLE auction_user
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+CREATE SEQUENCE auction_user_seq INCREMENT BY 50;
+CREATE SEQUENCE auction_seq INCREMENT BY 50;
+CREATE SEQUENCE bids_seq INCREMENT BY 50;
+
+SELECT setval('auction_user_seq', (SELECT COALESCE(MAX(id), 0) FROM auction_user) + 50, false);
+SELECT setval('auction_seq', (SELECT COALESCE(MAX(id), 0) FROM auction) + 50, false);
+SELECT setval('bids_seq', (SELECT COALESCE(MAX(bid_id), 0) FROM bids) + 50, false);
+
+ALTER TABLE auction_user ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE auction ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE bids ALTER COLUMN bid_id DROP DEFAULT;
+
+DROP SEQUENCE auction_user_id_seq;
+DROP SEQUENCE auction_id_seq;
+DROP SEQUENCE bids_bid_id_seq;
@@ -0,0 +1,5 @@
+ALTER TABLE bids ADD PRIMARY KEY (bid_id);
+
+CREATE INDEX bids_auction_priority_idx ON bids (id, price DESC, quantity DESC, bid_id);
+CREATE INDEX bids_owner_idx ON bids (owner);
+CREATE INDEX auction_owner_idx ON auction (owner);
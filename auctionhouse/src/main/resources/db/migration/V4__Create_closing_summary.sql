@@ -0,0 +1,16 @@
+CREATE TABLE closing_summary
+(
+    auction_id          INTEGER PRIMARY KEY REFERENCES auction (id),
+    total_sold_quantity BIGINT                   NOT NULL,
+    total_revenue       NUMERIC(19, 4)           NOT NULL,
+    closing_time        TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE winning_bid
+(
+    auction_id INTEGER NOT NULL REFERENCES closing_summary (auction_id),
+    position   INTEGER NOT NULL,
+    bid_id     INTEGER NOT NULL REFERENCES bids (bid_id),
+    quantity   BIGINT  NOT NULL,
+    PRIMARY KEY (auction_id, position)
+);
@@ -0,0 +1,5 @@
+UPDATE bids
+SET state = CASE state WHEN '0' THEN 'PENDING' WHEN '1' THEN 'LOST' WHEN '2' THEN 'WIN' ELSE state END;
+
+UPDATE auction
+SET status = CASE status WHEN '0' THEN 'OPENED' WHEN '1' THEN 'CLOSED' ELSE status END;
@@ -0,0 +1,4 @@
+ALTER TABLE auction ALTER COLUMN closing_time TYPE TIMESTAMPTZ USING NULL;
+
+CREATE INDEX auction_scheduled_close_idx ON auction (closing_time)
+    WHERE status = 'OPENED' AND closing_time IS NOT NULL;
@@ -0,0 +1,5 @@
+DROP INDEX auction_owner_idx;
+
+CREATE INDEX auction_owner_id_idx ON auction (owner, id);
+CREATE INDEX auction_symbol_status_id_idx ON auction (symbol, status, id);
+CREATE INDEX auction_status_id_idx ON auction (status, id);
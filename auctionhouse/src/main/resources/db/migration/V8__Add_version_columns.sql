@@ -0,0 +1,5 @@
+ALTER TABLE auction
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bids
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
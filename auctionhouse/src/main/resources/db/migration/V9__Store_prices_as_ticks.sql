@@ -0,0 +1,9 @@
+-- Prices and revenues are stored as fixed-point ticks of 1/10000, see Price.
+ALTER TABLE auction
+    ALTER COLUMN min_price TYPE BIGINT USING round(CAST(min_price AS numeric) * 10000);
+
+ALTER TABLE bids
+    ALTER COLUMN price TYPE BIGINT USING round(CAST(price AS numeric) * 10000);
+
+ALTER TABLE closing_summary
+    ALTER COLUMN total_revenue TYPE BIGINT USING round(total_revenue * 10000);
@@ -1,21 +1,34 @@
 package com.weareadaptive.auction.controller;
 
+import static com.weareadaptive.auction.model.Price.maxPrice;
+import static com.weareadaptive.auction.model.Price.toDecimal;
+import static com.weareadaptive.auction.model.Price.toTicks;
 import static io.restassured.RestAssured.given;
 import static java.lang.String.format;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 import com.weareadaptive.auction.IntegrationTest;
 import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.controller.dto.AuctionBidRequest;
 import com.weareadaptive.auction.controller.dto.BidRequest;
 import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
 import com.weareadaptive.auction.model.AuctionLot;
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import com.weareadaptive.auction.repository.BidRepository;
 import com.weareadaptive.auction.service.AuctionLotService;
 import com.weareadaptive.auction.service.UserService;
 import io.restassured.http.ContentType;
+import java.time.Instant;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -41,6 +54,10 @@ public class AuctionControllerTest extends IntegrationTest {
   private AuctionLotService auctionLotService;
   @Autowired
   private UserService userService;
+  @Autowired
+  private AuctionRepository auctionRepository;
+  @Autowired
+  private BidRepository bidRepository;
 
   @DynamicPropertySource
   public static void postgreSQLProperties(@NotNull DynamicPropertyRegistry registry) {
@@ -62,7 +79,7 @@ public class AuctionControllerTest extends IntegrationTest {
     var quantity = 100;
     var minCost = 10.0;
 
-    var createAuctionRequest = new CreateAuctionRequest("FB", minCost, quantity);
+    var createAuctionRequest = new CreateAuctionRequest("FB", toTicks(minCost), quantity);
 
     //@formatter:off
     given()
@@ -91,7 +108,7 @@ public class AuctionControllerTest extends IntegrationTest {
     var quantity = 100;
     var minCost = 100.0;
     //@formatter:off
-    var createAuctionRequest = new CreateAuctionRequest("APPL", minCost, quantity);
+    var createAuctionRequest = new CreateAuctionRequest("APPL", toTicks(minCost), quantity);
 
     given()
         .baseUri(uri)
@@ -107,17 +124,87 @@ public class AuctionControllerTest extends IntegrationTest {
 
   }
 
+  @DisplayName("create should close the Auction automatically at its closing time")
+  @Test
+  public void createShouldScheduleAuctionToCloseAtClosingTime() throws InterruptedException {
+    var closingTime = Instant.now().plusSeconds(2);
+    var createAuctionRequest = new CreateAuctionRequest("FB", toTicks(10.0), 100, closingTime);
+
+    //@formatter:off
+    int id = given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .contentType(ContentType.JSON)
+        .body(createAuctionRequest)
+        .when()
+        .post("/auctions")
+        .then()
+        .statusCode(HttpStatus.CREATED.value())
+        .body("status", equalTo("OPENED"))
+        .extract().path("id");
+    //@formatter:on
+    auctionLotService.bid(id, testData.user2().getUsername(), 10, toTicks(12.0));
+
+    var deadline = closingTime.plusSeconds(10);
+    while (auctionLotService.getAuctionById(id).orElseThrow().getStatus()
+        == AuctionLot.Status.OPENED && Instant.now().isBefore(deadline)) {
+      Thread.sleep(100);
+    }
+
+    assertThat(auctionLotService.getAuctionById(id).orElseThrow().getStatus(),
+        equalTo(AuctionLot.Status.CLOSED));
+    assertThat(auctionLotService.getClosingSummary(testData.user4().getUsername(), id)
+        .totalSoldQuantity(), equalTo(10));
+  }
+
+  @DisplayName("create should throw if closing time is not in the future")
+  @Test
+  public void createShouldThrowIfClosingTimeIsInThePast() {
+    var createAuctionRequest =
+        new CreateAuctionRequest("FB", toTicks(10.0), 100, Instant.now().minusSeconds(60));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .contentType(ContentType.JSON)
+        .body(createAuctionRequest)
+    .when()
+        .post("/auctions")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
+  @DisplayName("create should throw if quantity times minPrice does not fit in a long")
+  @Test
+  public void createShouldThrowIfMinPriceIsAboveMaxPrice() {
+    var createAuctionRequest = new CreateAuctionRequest("FB", maxPrice(1_000) + 1, 1_000);
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .contentType(ContentType.JSON)
+        .body(createAuctionRequest)
+    .when()
+        .post("/auctions")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
   @DisplayName("getAllUserAuctions should return a list of all user Auctions")
   @Test
   public void getAllUserAuctionsShouldReturnAllUserAuctions() {
 
 
     AuctionLot auctionLot1 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
     AuctionLot auctionLot2 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 200, 30.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 200, toTicks(30.00));
     AuctionLot auctionLot3 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 300, 40.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 300, toTicks(40.00));
 
     var find1 = format("find { it.id == %s }.", auctionLot1.getId());
 
@@ -138,11 +225,99 @@ public class AuctionControllerTest extends IntegrationTest {
 
   }
 
+  @DisplayName("getAllUserAuctions should return pages of auctions, newest first")
+  @Test
+  public void getAllUserAuctionsShouldPaginateWithCursor() {
+    var owner = testData.createRandomUser();
+    var oldest = auctionLotService.create(owner.getUsername(), "FB", 100, toTicks(20.00));
+    var middle = auctionLotService.create(owner.getUsername(), "FB", 100, toTicks(20.00));
+    var newest = auctionLotService.create(owner.getUsername(), "FB", 100, toTicks(20.00));
+
+    //@formatter:off
+    var nextCursor = given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.getToken(owner))
+        .queryParam("limit", 2)
+        .when()
+        .get("auctions/owner")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("id", contains(newest.getId(), middle.getId()))
+        .extract()
+        .header(AuctionLotController.NEXT_CURSOR);
+
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.getToken(owner))
+        .queryParam("limit", 2)
+        .queryParam("cursor", nextCursor)
+    .when()
+        .get("auctions/owner")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(AuctionLotController.NEXT_CURSOR, nullValue())
+        .body("id", contains(oldest.getId()));
+    //@formatter:on
+  }
+
+  @DisplayName("getAuctions should filter auctions by symbol, status and min price")
+  @Test
+  public void getAuctionsShouldFilterBySymbolStatusAndMinPrice() {
+    var symbol = "FLT" + System.nanoTime();
+    var cheap = auctionLotService.create(testData.user4().getUsername(), symbol, 100,
+        toTicks(5.00));
+    var open = auctionLotService.create(testData.user4().getUsername(), symbol, 100,
+        toTicks(20.00));
+    var closed = auctionLotService.create(testData.user4().getUsername(), symbol, 100,
+        toTicks(30.00));
+    auctionLotService.create(testData.user4().getUsername(), "FB", 100, toTicks(20.00));
+    auctionLotService.closeAuction(closed.getId(), closed.getOwner());
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .queryParam("symbol", symbol)
+    .when()
+        .get("auctions")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("id", contains(closed.getId(), open.getId(), cheap.getId()));
+
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .queryParam("symbol", symbol)
+        .queryParam("status", "OPENED")
+        .queryParam("minPrice", 10)
+    .when()
+        .get("auctions")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("id", contains(open.getId()));
+    //@formatter:on
+  }
+
+  @DisplayName("getAuctions should throw if the page size is above the maximum")
+  @Test
+  public void getAuctionsShouldThrowIfLimitIsTooLarge() {
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .queryParam("limit", 1001)
+    .when()
+        .get("auctions")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
   @DisplayName("getAuctionById should return Auction with given Id")
   @Test
   public void getAuctionByIdShouldReturnAuction() {
     AuctionLot auctionLot =
-        auctionLotService.create(testData.user4().getUsername(), "ORANGE", 45, 33.65);
+        auctionLotService.create(testData.user4().getUsername(), "ORANGE", 45, toTicks(33.65));
 
     //@formatter:off
     given()
@@ -182,9 +357,9 @@ public class AuctionControllerTest extends IntegrationTest {
   @Test
   public void bidShouldReturnBidIfBidIsValid() {
 
-    BidRequest bidRequest = new BidRequest(3, 45.99);
+    BidRequest bidRequest = new BidRequest(3, toTicks(45.99));
     AuctionLot auctionLot1 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
     //Bid bid=auctionLotService.bid(auctionLot1.getAuction_id(),testData.user2().getUsername(),5,100.00);
 
     //@formatter:off
@@ -211,7 +386,7 @@ public class AuctionControllerTest extends IntegrationTest {
   @Test
   public void bidShouldThrowIfAuctionIdIsInvalid() {
 
-    BidRequest bidRequest = new BidRequest(3, 45.99);
+    BidRequest bidRequest = new BidRequest(3, toTicks(45.99));
     //@formatter:off
 
     given()
@@ -230,8 +405,9 @@ public class AuctionControllerTest extends IntegrationTest {
   @DisplayName("bid should throw if User tries to bid on their own Auction")
   @Test
   public void bidShouldThrowIfUserCanNotBid() {
-    BidRequest bidRequest = new BidRequest(3, 45.99);
-    AuctionLot auctionLot44=auctionLotService.create(testData.user4().getUsername(),"FB",100,20.00);
+    BidRequest bidRequest = new BidRequest(3, toTicks(45.99));
+    AuctionLot auctionLot44=auctionLotService.create(testData.user4().getUsername(),"FB",100,
+        toTicks(20.00));
     //@formatter:off
     given().
         baseUri(uri)
@@ -246,18 +422,162 @@ public class AuctionControllerTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @DisplayName("bid should throw if the price is finer than a tick")
+  @Test
+  public void bidShouldThrowIfPriceIsFinerThanTick() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .contentType(ContentType.JSON)
+        .body("{\"quantity\": 3, \"price\": 45.00001}")
+        .pathParam("id", auctionLot.getId())
+    .when()
+        .post("auctions/bids/{id}")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
+  @DisplayName("bid should throw if auction quantity times price does not fit in a long")
+  @Test
+  public void bidShouldThrowIfPriceIsAboveMaxPrice() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 1_000, toTicks(20.00));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .contentType(ContentType.JSON)
+        .body(new BidRequest(1, maxPrice(1_000) + 1))
+        .pathParam("id", auctionLot.getId())
+    .when()
+        .post("auctions/bids/{id}")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .body("message", equalTo("price needs to be at most " + toDecimal(maxPrice(1_000))));
+    //@formatter:on
+  }
+
+  @DisplayName("bid batch should return all bids if every bid is valid")
+  @Test
+  public void bidBatchShouldReturnAllBidsIfValid() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
+    var bidRequests = List.of(new BidRequest(3, toTicks(45.99)), new BidRequest(5, toTicks(44.50)));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .pathParam("id", auctionLot.getId())
+        .contentType(ContentType.JSON)
+        .body(bidRequests)
+    .when()
+        .post("auctions/bids/{id}/batch")
+    .then()
+        .statusCode(HttpStatus.CREATED.value())
+        .body("size()", equalTo(2))
+        .body("[0].auctionId", equalTo(auctionLot.getId()))
+        .body("[0].quantity", equalTo(3))
+        .body("[1].price", equalTo(44.50F));
+    //@formatter:on
+  }
+
+  @DisplayName("bid batch should reject the whole batch if one bid is invalid")
+  @Test
+  public void bidBatchShouldRejectBatchIfOneBidIsInvalid() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
+    var bidRequests = List.of(
+        new AuctionBidRequest(auctionLot.getId(), 3, toTicks(45.99)),
+        new AuctionBidRequest(auctionLot.getId(), 3, toTicks(10.00)));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .contentType(ContentType.JSON)
+        .body(bidRequests)
+    .when()
+        .post("auctions/bids/batch")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    assertThat(auctionLotService.getAllAuctionBids(auctionLot.getOwner(), auctionLot.getId()),
+        empty());
+  }
+
+  @DisplayName("bid batch should validate every bid like a single bid")
+  @Test
+  public void bidBatchShouldValidateEachBid() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 0);
+    var bidRequests = List.of(new BidRequest(3, toTicks(45.99)), new BidRequest(3, toTicks(0.5)));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .pathParam("id", auctionLot.getId())
+        .contentType(ContentType.JSON)
+        .body(bidRequests)
+    .when()
+        .post("auctions/bids/{id}/batch")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .body("invalidFields[0].message", equalTo("must be greater than or equal to 10000"));
+    //@formatter:on
+
+    assertThat(auctionLotService.getAllAuctionBids(auctionLot.getOwner(), auctionLot.getId()),
+        empty());
+  }
+
+  @DisplayName("cross-auction bid batch should validate every bid like a single bid")
+  @Test
+  public void auctionBidBatchShouldValidateEachBid() {
+    AuctionLot auctionLot =
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 0);
+    var bidRequests = List.of(
+        new AuctionBidRequest(auctionLot.getId(), 3, toTicks(45.99)),
+        new AuctionBidRequest(auctionLot.getId(), 0, toTicks(45.99)));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .contentType(ContentType.JSON)
+        .body(bidRequests)
+    .when()
+        .post("auctions/bids/batch")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    assertThat(auctionLotService.getAllAuctionBids(auctionLot.getOwner(), auctionLot.getId()),
+        empty());
+  }
+
   @DisplayName("getAllAuctionBids should return all bids for the auction owned by the User")
   @Test
   public void getAllAuctionBidsShouldReturnAllBidsForUserAuction() {
     AuctionLot auctionLot33 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
 
     Bid bid1 =
-        auctionLotService.bid(auctionLot33.getId(), testData.user3().getUsername(), 5, 134.56);
+        auctionLotService.bid(auctionLot33.getId(), testData.user3().getUsername(), 5,
+            toTicks(134.56));
     Bid bid2 =
-        auctionLotService.bid(auctionLot33.getId(), testData.user2().getUsername(), 4, 134.56);
+        auctionLotService.bid(auctionLot33.getId(), testData.user2().getUsername(), 4,
+            toTicks(134.56));
     Bid bid3 =
-        auctionLotService.bid(auctionLot33.getId(), testData.user2().getUsername(), 4, 234.56);
+        auctionLotService.bid(auctionLot33.getId(), testData.user2().getUsername(), 4,
+            toTicks(234.56));
 
 
     var find1 = format("find { it.bidId == %s }.", bid1.getBidId());
@@ -279,13 +599,54 @@ public class AuctionControllerTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @DisplayName("getAuctionBids should return pages of bids in close priority")
+  @Test
+  public void getAuctionBidsShouldPaginateInClosePriority() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 100,
+        toTicks(20.00));
+    var low = auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 5,
+        toTicks(21.00));
+    var high = auctionLotService.bid(auctionLot.getId(), testData.user3().getUsername(), 5,
+        toTicks(30.00));
+    var mid = auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 5,
+        toTicks(25.00));
+
+    //@formatter:off
+    var nextCursor = given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .pathParam("id", auctionLot.getId())
+        .queryParam("limit", 2)
+        .when()
+        .get("auctions/bids/{id}")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("bidId", contains(high.getBidId(), mid.getBidId()))
+        .extract()
+        .header(AuctionLotController.NEXT_CURSOR);
+
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .pathParam("id", auctionLot.getId())
+        .queryParam("limit", 2)
+        .queryParam("cursor", nextCursor)
+    .when()
+        .get("auctions/bids/{id}")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(AuctionLotController.NEXT_CURSOR, nullValue())
+        .body("bidId", contains(low.getBidId()));
+    //@formatter:on
+  }
+
   @DisplayName("getAllAuctionBids should throw an Unauthorized Exception if user can not view all bids")
   @Test
   public void getAllAuctionBidsShouldThrowIfUserIsNotOwner() {
     AuctionLot auctionLot1 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
 
-    auctionLotService.bid(auctionLot1.getId(), testData.user2().getUsername(), 4, 134.56);
+    auctionLotService.bid(auctionLot1.getId(), testData.user2().getUsername(), 4, toTicks(134.56));
 
     //@formatter:off
 
@@ -305,16 +666,20 @@ public class AuctionControllerTest extends IntegrationTest {
   @Test
   public void closeAuctionShouldReturnSummary() {
     AuctionLot auctionLot2 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
 
     var bid1 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user2().getUsername(), 10, 125.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user2().getUsername(), 10,
+            toTicks(125.00));
     var bid2 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10, 127.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10,
+            toTicks(127.00));
     var bid3 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10, 227.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10,
+            toTicks(227.00));
     var bid4 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10, 327.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10,
+            toTicks(327.00));
 
     var find1 = format("winningBids.find { it.bidId == %d }.", bid1.getBidId());
     var find2 =     format("winningBids.find { it.bidId == %d }.", bid2.getBidId());
@@ -355,7 +720,7 @@ public class AuctionControllerTest extends IntegrationTest {
   @Test
   public void closeAuctionShouldThrowIfNotOwner() {
     AuctionLot auctionLot2 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
 
     //@formatter:off
     given()
@@ -373,7 +738,8 @@ public class AuctionControllerTest extends IntegrationTest {
   @DisplayName("closeAuction should throw if Auction is already closed")
   @Test
   public void closeAuctionShouldThrowIfAuctionIsClosed() {
-    AuctionLot auctionLot1=auctionLotService.create(testData.user4().getUsername(),"FB",100,20.00);
+    AuctionLot auctionLot1=auctionLotService.create(testData.user4().getUsername(),"FB",100,
+        toTicks(20.00));
 
     auctionLotService.closeAuction(auctionLot1.getId(),auctionLot1.getOwner());
     String ownerToken= testData.auctionUserToken(auctionLot1.getOwner());
@@ -390,16 +756,135 @@ public class AuctionControllerTest extends IntegrationTest {
 
   }
 
+  @DisplayName("bid should be rejected once the auction was closed by another node")
+  @Test
+  public void bidShouldThrowIfAuctionWasClosedConcurrently() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 100,
+        toTicks(20.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 5, toTicks(30.00));
+    auctionRepository.updateStatus(auctionLot.getId(), AuctionLot.Status.OPENED,
+        AuctionLot.Status.CLOSED);
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user3Token())
+        .pathParam("id", auctionLot.getId())
+        .contentType(ContentType.JSON)
+        .body(new BidRequest(3, toTicks(45.99)))
+    .when()
+        .post("auctions/bids/{id}")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    var bids = auctionLotService.getAllAuctionBids(auctionLot.getOwner(), auctionLot.getId());
+    assertThat(bids.stream().map(Bid::getUser).toList(),
+        contains(testData.user2().getUsername()));
+  }
+
+  @DisplayName("bid should reload an order book that missed a bid from another node")
+  @Test
+  public void bidShouldReloadOrderBookIfAuctionWasBidOnConcurrently() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 10,
+        toTicks(20.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 5, toTicks(30.00));
+    var version = auctionRepository.findById(auctionLot.getId()).orElseThrow().getVersion();
+    auctionRepository.updateVersion(auctionLot.getId(), version);
+    bidRepository.save(new Bid(auctionLot.getId(), testData.user1().getUsername(), 10,
+        toTicks(40.00)));
+
+    auctionLotService.bid(auctionLot.getId(), testData.user3().getUsername(), 3, toTicks(35.00));
+
+    var allocation = auctionLotService.getProvisionalAllocation(auctionLot.getOwner(),
+        auctionLot.getId());
+    assertThat(allocation.winningBids().stream()
+            .map(winningBid -> winningBid.originalBid().getUser()).toList(),
+        contains(testData.user1().getUsername()));
+    assertThat(auctionRepository.findById(auctionLot.getId()).orElseThrow().getVersion(),
+        equalTo(version + 2));
+  }
+
+  @DisplayName("closeAuction should not allocate an auction closed by another node")
+  @Test
+  public void closeAuctionShouldThrowIfAuctionWasClosedConcurrently() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 100,
+        toTicks(20.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 5, toTicks(30.00));
+    auctionRepository.updateStatus(auctionLot.getId(), AuctionLot.Status.OPENED,
+        AuctionLot.Status.CLOSED);
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .pathParam("id", auctionLot.getId())
+    .when()
+        .put("auctions/{id}")
+    .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    var bids = auctionLotService.getAllAuctionBids(auctionLot.getOwner(), auctionLot.getId());
+    assertThat(bids.stream().map(Bid::getState).toList(), contains(Bid.State.PENDING));
+  }
+
+  @DisplayName("getProvisionalAllocation should return the would-be winners of an open auction")
+  @Test
+  public void getProvisionalAllocationShouldReturnWouldBeWinners() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 15,
+        toTicks(20.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user2().getUsername(), 10, toTicks(25.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user3().getUsername(), 10, toTicks(30.00));
+    auctionLotService.bid(auctionLot.getId(), testData.user1().getUsername(), 10, toTicks(21.00));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .pathParam("id", auctionLot.getId())
+    .when()
+        .get("auctions/{id}/provisional")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("winningBids.ownerUsername", contains(testData.user3().getUsername(),
+            testData.user2().getUsername()))
+        .body("totalSoldQuantity", equalTo(15))
+        .body("totalRevenue", equalTo(425F))
+        .body("clearingPrice", equalTo(25F));
+    //@formatter:on
+  }
+
+  @DisplayName("getProvisionalAllocation should throw if not owner of the auction")
+  @Test
+  public void getProvisionalAllocationShouldThrowIfNotOwner() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 15,
+        toTicks(20.00));
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user2Token())
+        .pathParam("id", auctionLot.getId())
+    .when()
+        .get("auctions/{id}/provisional")
+    .then()
+        .statusCode(HttpStatus.UNAUTHORIZED.value());
+    //@formatter:on
+  }
+
   @DisplayName("getClosingSummary should return closing summary if is closed and is owner")
   @Test
   public void getClosingSummaryShouldReturnClosingSummary() {
     AuctionLot auctionLot2 =
-        auctionLotService.create(testData.user4().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user4().getUsername(), "FB", 100, toTicks(20.00));
 
     var bid1 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user2().getUsername(), 10, 125.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user2().getUsername(), 10,
+            toTicks(125.00));
     var bid2 =
-        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10, 127.00);
+        auctionLotService.bid(auctionLot2.getId(), testData.user3().getUsername(), 10,
+            toTicks(127.00));
 
 
     var find1 =
@@ -427,11 +912,39 @@ public class AuctionControllerTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @DisplayName("getClosingSummary should return the summary of its own auction after others close")
+  @Test
+  public void getClosingSummaryShouldNotBeOverwrittenByLaterClose() {
+    var firstAuction =
+        auctionLotService.create(testData.user4().getUsername(), "FB", 100, toTicks(20.00));
+    var secondAuction =
+        auctionLotService.create(testData.user4().getUsername(), "GOOG", 100, toTicks(20.00));
+    auctionLotService.bid(firstAuction.getId(), testData.user2().getUsername(), 10, toTicks(30.00));
+    auctionLotService.bid(secondAuction.getId(), testData.user3().getUsername(), 5, toTicks(40.00));
+
+    auctionLotService.closeAuction(firstAuction.getId(), firstAuction.getOwner());
+    auctionLotService.closeAuction(secondAuction.getId(), secondAuction.getOwner());
+
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user4Token())
+        .pathParam("id", firstAuction.getId())
+    .when()
+        .get("auctions/{id}/ClosingSummary")
+    .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("winningBids.auctionId", everyItem(equalTo(firstAuction.getId())))
+        .body("totalSoldQuantity", equalTo(10))
+        .body("totalRevenue", equalTo(300F));
+    //@formatter:on
+  }
+
   @DisplayName("getClosingSummary should throw if not owner of the auction")
   @Test
   public void getClosingSummaryShouldThrowIfNotOwner() {
     AuctionLot auctionLot2 =
-        auctionLotService.create(testData.user1().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user1().getUsername(), "FB", 100, toTicks(20.00));
 
     auctionLotService.closeAuction(auctionLot2.getId(), auctionLot2.getOwner());
     //@formatter:off
@@ -450,7 +963,7 @@ public class AuctionControllerTest extends IntegrationTest {
   @Test
   public void getClosingSummaryShouldThrowIfNotClosed() {
     AuctionLot auctionLot1 =
-        auctionLotService.create(testData.user4().getUsername(), "FB", 100, 20.00);
+        auctionLotService.create(testData.user4().getUsername(), "FB", 100, toTicks(20.00));
 
     String ownerToken = testData.auctionUserToken(auctionLot1.getOwner());
 
@@ -0,0 +1,205 @@
+package com.weareadaptive.auction.load;
+
+import static com.weareadaptive.auction.TestData.ADMIN_AUTH_TOKEN;
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.controller.dto.BidRequest;
+import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
+import com.weareadaptive.auction.controller.dto.CreateUserRequest;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Drives the REST API with {@code load.users} concurrent users who create auctions, bid on each
+ * other's auctions and close their own. Run it with {@code mvn test -Pload-test}; the sizes can
+ * be changed with {@code -Dload.users}, {@code -Dload.auctions-per-user} and
+ * {@code -Dload.bids-per-user}. The report is printed and written to
+ * {@code target/load-test/report.txt}.
+ */
+@Tag("load")
+public class AuctionLoadTest extends IntegrationTest {
+  private static final int USERS = Integer.getInteger("load.users", 50);
+  private static final int AUCTIONS_PER_USER = Integer.getInteger("load.auctions-per-user", 10);
+  private static final int BIDS_PER_USER = Integer.getInteger("load.bids-per-user", 500);
+  private static final String PASSWORD = "loadpassword";
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2").withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private ObjectMapper objectMapper;
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final LatencyRecorder latencies = new LatencyRecorder();
+  private final Map<Integer, List<Integer>> auctionsByUser = new ConcurrentHashMap<>();
+  private final List<Integer> auctionIds = new ArrayList<>();
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgreSQL::getJdbcUrl);
+    registry.add("spring.datasource.username", postgreSQL::getUsername);
+    registry.add("spring.datasource.password", postgreSQL::getPassword);
+  }
+
+  @DisplayName("users should create, bid on and close auctions concurrently without errors")
+  @Test
+  public void usersShouldTradeConcurrently() throws Exception {
+    var hikari = dataSource.unwrap(HikariDataSource.class);
+    var runId = Long.toString(System.currentTimeMillis(), 36);
+    var report = new StringBuilder(String.format(
+        "%d users, %d auctions per user, %d bids per user%n%n",
+        USERS, AUCTIONS_PER_USER, BIDS_PER_USER));
+
+    try (var pool = new ConnectionPoolSampler(hikari.getHikariPoolMXBean(),
+        hikari.getMaximumPoolSize(), 10)) {
+      final var start = System.nanoTime();
+      runPhase(report, "create users", user -> createUser(runId, user));
+      runPhase(report, "create auctions", user -> createAuctions(runId, user));
+      auctionsByUser.values().forEach(auctionIds::addAll);
+      runPhase(report, "bid", user -> placeBids(runId, user));
+      runPhase(report, "close", user -> closeAuctions(runId, user));
+      var elapsed = System.nanoTime() - start;
+
+      report.append(String.format("%ntotal %.1f s%n", elapsed / 1e9))
+          .append(latencies.report(elapsed))
+          .append(System.lineSeparator())
+          .append(pool.report());
+    }
+
+    System.out.println(report);
+    var reportFile = Path.of("target", "load-test", "report.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report);
+    assertThat(latencies.errors(), equalTo(0L));
+  }
+
+  private void runPhase(StringBuilder report, String phase, IntConsumer userAction)
+      throws Exception {
+    ExecutorService users = Executors.newFixedThreadPool(USERS);
+    try {
+      var start = System.nanoTime();
+      var futures = new ArrayList<Future<?>>();
+      for (int user = 0; user < USERS; user++) {
+        var userIndex = user;
+        futures.add(users.submit(() -> userAction.accept(userIndex)));
+      }
+      for (var future : futures) {
+        future.get();
+      }
+      report.append(String.format("phase %-16s %8.1f s%n", phase,
+          (System.nanoTime() - start) / 1e9));
+    } finally {
+      users.shutdown();
+    }
+  }
+
+  private void createUser(String runId, int user) {
+    send("POST /users", ADMIN_AUTH_TOKEN, "/users", "POST", new CreateUserRequest(
+        username(runId, user), PASSWORD, "Load", "User" + user, "Adaptive"));
+  }
+
+  private void createAuctions(String runId, int user) {
+    var ids = new ArrayList<Integer>();
+    for (int i = 0; i < AUCTIONS_PER_USER; i++) {
+      var response = send("POST /auctions", token(runId, user), "/auctions", "POST",
+          new CreateAuctionRequest("LOAD", toTicks(1.0), 1_000));
+      if (response != null) {
+        ids.add(readId(response));
+      }
+    }
+    auctionsByUser.put(user, ids);
+  }
+
+  private void placeBids(String runId, int user) {
+    var random = ThreadLocalRandom.current();
+    var ownAuctions = auctionsByUser.get(user);
+    for (int i = 0; i < BIDS_PER_USER; i++) {
+      var auctionId = auctionIds.get(random.nextInt(auctionIds.size()));
+      if (ownAuctions.contains(auctionId)) {
+        continue;
+      }
+      send("POST /auctions/bids/{id}", token(runId, user), "/auctions/bids/" + auctionId,
+          "POST", new BidRequest(1 + random.nextInt(50), toTicks(1.5 + random.nextInt(100))));
+    }
+  }
+
+  private void closeAuctions(String runId, int user) {
+    for (var auctionId : auctionsByUser.get(user)) {
+      send("PUT /auctions/{id}", token(runId, user), "/auctions/" + auctionId, "PUT", null);
+      send("GET /auctions/{id}/ClosingSummary", token(runId, user),
+          "/auctions/" + auctionId + "/ClosingSummary", "GET", null);
+    }
+  }
+
+  private String send(String endpoint, String token, String path, String method, Object body) {
+    try {
+      var request = HttpRequest.newBuilder(URI.create(uri + path))
+          .header(AUTHORIZATION, token)
+          .header(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+          .method(method, body == null
+              ? HttpRequest.BodyPublishers.noBody()
+              : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+          .build();
+      var start = System.nanoTime();
+      var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      var success = response.statusCode() / 100 == 2;
+      latencies.record(endpoint, System.nanoTime() - start, success);
+      return success ? response.body() : null;
+    } catch (IOException e) {
+      latencies.record(endpoint, 0, false);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private int readId(String json) {
+    try {
+      return objectMapper.readTree(json).get("id").asInt();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String username(String runId, int user) {
+    return "load" + runId + "u" + user;
+  }
+
+  private static String token(String runId, int user) {
+    return "Bearer " + username(runId, user) + ":" + PASSWORD;
+  }
+}
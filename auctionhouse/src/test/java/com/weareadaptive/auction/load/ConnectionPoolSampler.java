@@ -0,0 +1,49 @@
+package com.weareadaptive.auction.load;
+
+import static java.lang.String.format;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolSampler implements AutoCloseable {
+  private final HikariPoolMXBean pool;
+  private final int maximumPoolSize;
+  private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+  private long samples;
+  private long saturatedSamples;
+  private long activeTotal;
+  private int maxActive;
+  private int maxWaiting;
+
+  public ConnectionPoolSampler(HikariPoolMXBean pool, int maximumPoolSize, long periodMillis) {
+    this.pool = pool;
+    this.maximumPoolSize = maximumPoolSize;
+    sampler.scheduleAtFixedRate(this::sample, 0, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    sampler.shutdownNow();
+  }
+
+  public synchronized String report() {
+    return format("connection pool: size %d, max active %d, mean active %.1f, "
+            + "max threads waiting %d, saturated in %.1f%% of %d samples%n",
+        maximumPoolSize, maxActive, samples == 0 ? 0.0 : activeTotal / (double) samples,
+        maxWaiting, samples == 0 ? 0.0 : 100.0 * saturatedSamples / samples, samples);
+  }
+
+  private synchronized void sample() {
+    var active = pool.getActiveConnections();
+    samples++;
+    activeTotal += active;
+    maxActive = Math.max(maxActive, active);
+    var waiting = pool.getThreadsAwaitingConnection();
+    maxWaiting = Math.max(maxWaiting, waiting);
+    if (waiting > 0) {
+      saturatedSamples++;
+    }
+  }
+}
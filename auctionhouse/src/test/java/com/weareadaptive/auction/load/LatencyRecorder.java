@@ -0,0 +1,63 @@
+package com.weareadaptive.auction.load;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LatencyRecorder {
+  private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+  public void record(String endpoint, long nanos, boolean success) {
+    endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+  }
+
+  public long errors() {
+    return endpoints.values().stream().mapToLong(samples -> samples.errors.get()).sum();
+  }
+
+  public String report(long elapsedNanos) {
+    var report = new StringBuilder(format("%-40s %8s %7s %10s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+    endpoints.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> report.append(entry.getValue().describe(entry.getKey(), elapsedNanos)));
+    return report.toString();
+  }
+
+  private static final class Samples {
+    private final AtomicLong errors = new AtomicLong();
+    private long[] nanos = new long[1024];
+    private int count;
+
+    private synchronized void add(long sample, boolean success) {
+      if (!success) {
+        errors.incrementAndGet();
+      }
+      if (count == nanos.length) {
+        nanos = Arrays.copyOf(nanos, count * 2);
+      }
+      nanos[count++] = sample;
+    }
+
+    private synchronized String describe(String endpoint, long elapsedNanos) {
+      var sorted = Arrays.copyOf(nanos, count);
+      Arrays.sort(sorted);
+      var throughput = count / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+      return format("%-40s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint, count,
+          errors.get(), throughput, millis(sorted, 0.5), millis(sorted, 0.99),
+          millis(sorted, 0.999), millis(sorted, 1.0));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      var index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+}
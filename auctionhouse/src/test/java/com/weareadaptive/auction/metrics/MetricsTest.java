@@ -0,0 +1,103 @@
+package com.weareadaptive.auction.metrics;
+
+import static com.weareadaptive.auction.TestData.ADMIN_AUTH_TOKEN;
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.OK;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.controller.dto.CreateAuctionRequest;
+import io.restassured.http.ContentType;
+import java.time.Instant;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+@AutoConfigureMetrics
+public class MetricsTest extends IntegrationTest {
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2")
+          .withUsername("testUsername")
+          .withPassword("testPassword");
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgreSQL::getJdbcUrl);
+    registry.add("spring.datasource.username", postgreSQL::getUsername);
+    registry.add("spring.datasource.password", postgreSQL::getPassword);
+  }
+
+  @DisplayName("prometheus should expose service, auth, repository, pool and hibernate metrics")
+  @Test
+  public void prometheusShouldExposeLayerMetrics() {
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user1Token())
+        .contentType(ContentType.JSON)
+        .body(new CreateAuctionRequest("METRIC", toTicks(1.5), 10))
+    .when()
+        .post("/auctions")
+    .then()
+        .statusCode(CREATED.value());
+
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user1Token())
+        .contentType(ContentType.JSON)
+        .body(new CreateAuctionRequest("METRIC", toTicks(1.5), 10, Instant.now().minusSeconds(60)))
+    .when()
+        .post("/auctions")
+    .then()
+        .statusCode(BAD_REQUEST.value());
+
+    var layerMetrics = allOf(
+        containsString("auction_service_seconds_count{exception=\"none\",method=\"create\","
+            + "outcome=\"success\",service=\"AuctionLotService\",}"),
+        containsString("auction_service_seconds_count{exception=\"BusinessException\","
+            + "method=\"create\",outcome=\"business_error\",service=\"AuctionLotService\",}"),
+        containsString("auction_auth_seconds_count{exception=\"none\",outcome=\"success\",}"),
+        containsString("spring_data_repository_invocations_seconds_count"),
+        containsString("hikaricp_connections_active"),
+        containsString("hibernate_statements_total"),
+        containsString("cache_gets_total{cache=\"credentials\""),
+        containsString("cache_gets_total{cache=\"auctions\""),
+        containsString("cache_gets_total{cache=\"userSummaries\""));
+
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, ADMIN_AUTH_TOKEN)
+    .when()
+        .get("/actuator/prometheus")
+    .then()
+        .statusCode(OK.value())
+        .body(layerMetrics);
+    //@formatter:on
+  }
+
+  @DisplayName("actuator should be forbidden for users who are not admins")
+  @Test
+  public void actuatorShouldBeForbiddenForNonAdmins() {
+    //@formatter:off
+    given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.user1Token())
+    .when()
+        .get("/actuator/prometheus")
+    .then()
+        .statusCode(FORBIDDEN.value());
+    //@formatter:on
+  }
+}
@@ -0,0 +1,175 @@
+package com.weareadaptive.auction.model;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OrderBookTest {
+  @DisplayName("orderedBids should return bids by price then quantity descending")
+  @Test
+  public void orderedBidsShouldFollowClosePriority() {
+    var auctionLot = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+    var orderBook = new OrderBook(auctionLot);
+    var cheap = bid(1, 5, 11.0);
+    var expensive = bid(2, 5, 20.0);
+    var expensiveLarge = bid(3, 10, 20.0);
+    var expensiveLargeLater = bid(4, 10, 20.0);
+
+    orderBook.add(cheap);
+    orderBook.add(expensiveLargeLater);
+    orderBook.add(expensive);
+    orderBook.add(expensiveLarge);
+
+    assertThat(orderBook.orderedBids(),
+        contains(expensiveLarge, expensiveLargeLater, expensive, cheap));
+  }
+
+  @DisplayName("add should throw if the bid belongs to another auction")
+  @Test
+  public void addShouldThrowIfBidIsForAnotherAuction() {
+    var auctionLot = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+    var orderBook = new OrderBook(auctionLot);
+    var bid = new Bid(auctionLot.getId() + 1, "bidder", 5, toTicks(11.0));
+
+    assertThrows(BusinessException.class, () -> orderBook.add(bid));
+  }
+
+  @DisplayName("allocation should partially fill the marginal bid and update as bids arrive")
+  @Test
+  public void allocationShouldFollowArrivingBids() {
+    var auctionLot = new AuctionLot("owner", "FB", 15, toTicks(10.0));
+    var orderBook = new OrderBook(auctionLot);
+    var low = bid(1, 10, 11.0);
+    final var mid = bid(2, 10, 12.0);
+    final var high = bid(3, 10, 20.0);
+
+    assertThat(orderBook.allocation().winningBids(), empty());
+    assertThat(orderBook.allocation().clearingPrice(), nullValue());
+
+    orderBook.add(low);
+    orderBook.add(mid);
+    var allocation = orderBook.allocation();
+    assertThat(allocation.winningBids(),
+        contains(new WinningBid(10, mid), new WinningBid(5, low)));
+    assertThat(allocation.clearingPrice(), equalTo(toTicks(11.0)));
+
+    orderBook.add(high);
+    allocation = orderBook.allocation();
+    assertThat(allocation.winningBids(),
+        contains(new WinningBid(10, high), new WinningBid(5, mid)));
+    assertThat(allocation.totalSoldQuantity(), equalTo(15));
+    assertThat(allocation.totalRevenue(), equalTo(toTicks(260)));
+    assertThat(allocation.clearingPrice(), equalTo(toTicks(12.0)));
+  }
+
+  @DisplayName("allocation should leave every bid losing on an auction of quantity zero")
+  @Test
+  public void allocationShouldBeEmptyForZeroQuantityAuction() {
+    var auctionLot = new AuctionLot("owner", "FB", 0, toTicks(10.0));
+    var orderBook = new OrderBook(auctionLot);
+    var low = bid(1, 10, 11.0);
+    var high = bid(2, 10, 20.0);
+
+    orderBook.add(low);
+    orderBook.add(high);
+
+    var allocation = orderBook.allocation();
+    assertThat(orderBook.orderedBids(), contains(high, low));
+    assertThat(allocation.winningBids(), empty());
+    assertThat(allocation.totalSoldQuantity(), equalTo(0));
+    assertThat(allocation.totalRevenue(), equalTo(0L));
+    assertThat(allocation.clearingPrice(), nullValue());
+  }
+
+  @DisplayName("allocation should match allocating the ordered bids from scratch")
+  @Test
+  public void allocationShouldMatchAllocatingFromScratch() {
+    var random = new Random(7);
+    for (int run = 0; run < 200; run++) {
+      var auctionLot = new AuctionLot("owner", "FB", 1 + random.nextInt(200), toTicks(1.0));
+      var orderBook = new OrderBook(auctionLot);
+      for (int bidId = 1; bidId <= 1 + random.nextInt(60); bidId++) {
+        orderBook.add(bid(bidId, 1 + random.nextInt(30), 1 + random.nextInt(10)));
+
+        var allocation = orderBook.allocation();
+        var expected = allocateFromScratch(orderBook.orderedBids(), auctionLot.getQuantity());
+        assertThat(allocation.winningBids(), equalTo(expected));
+        assertThat(allocation.totalSoldQuantity(),
+            equalTo(expected.stream().mapToInt(WinningBid::quantity).sum()));
+        assertThat(allocation.totalRevenue(), equalTo(toTicks(expected.stream()
+            .map(winningBid -> BigDecimal.valueOf(winningBid.quantity())
+                .multiply(Price.toDecimal(winningBid.originalBid().getPrice())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add))));
+      }
+    }
+  }
+
+  @DisplayName("allocation should throw rather than overflow the revenue")
+  @Test
+  public void allocationShouldThrowIfRevenueOverflows() {
+    var auctionLot = new AuctionLot("owner", "FB", 2, 0);
+    var orderBook = new OrderBook(auctionLot);
+    for (int bidId = 1; bidId <= 2; bidId++) {
+      var bid = new Bid(0, "bidder" + bidId, 1, Long.MAX_VALUE / 2 + 1);
+      bid.setBidId(bidId);
+      orderBook.add(bid);
+    }
+
+    assertThrows(BusinessException.class,
+        () -> new Bid(0, "bidder", 2, Long.MAX_VALUE / 2 + 1));
+    assertThrows(ArithmeticException.class, orderBook::allocation);
+  }
+
+  @DisplayName("allocation should not overflow with quantities near Integer.MAX_VALUE")
+  @Test
+  public void allocationShouldHandleQuantitiesNearIntMax() {
+    var auctionLot = new AuctionLot("owner", "FB", Integer.MAX_VALUE - 1, toTicks(1.0));
+    var orderBook = new OrderBook(auctionLot);
+    var small = bid(1, 10, 5.0);
+    var large = bid(2, Integer.MAX_VALUE - 20, 4.0);
+    var high = bid(3, Integer.MAX_VALUE, 6.0);
+
+    orderBook.add(small);
+    orderBook.add(large);
+    orderBook.add(high);
+    orderBook.add(bid(4, Integer.MAX_VALUE, 1.0));
+
+    var allocation = orderBook.allocation();
+    assertThat(allocation.winningBids(),
+        equalTo(allocateFromScratch(orderBook.orderedBids(), auctionLot.getQuantity())));
+    assertThat(allocation.winningBids(), contains(new WinningBid(Integer.MAX_VALUE - 1, high)));
+    assertThat(allocation.totalSoldQuantity(), equalTo(Integer.MAX_VALUE - 1));
+    assertThat(allocation.totalRevenue(), equalTo((Integer.MAX_VALUE - 1) * toTicks(6.0)));
+  }
+
+  private static List<WinningBid> allocateFromScratch(List<Bid> orderedBids, int quantity) {
+    var winningBids = new ArrayList<WinningBid>();
+    var available = quantity;
+    for (Bid bid : orderedBids) {
+      if (available == 0) {
+        break;
+      }
+      var allocated = Math.min(available, bid.getQuantity());
+      winningBids.add(new WinningBid(allocated, bid));
+      available -= allocated;
+    }
+    return winningBids;
+  }
+
+  private static Bid bid(int bidId, int quantity, double price) {
+    var bid = new Bid(0, "bidder" + bidId, quantity, toTicks(price));
+    bid.setBidId(bidId);
+    return bid;
+  }
+}
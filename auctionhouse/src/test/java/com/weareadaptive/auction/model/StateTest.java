@@ -0,0 +1,138 @@
+package com.weareadaptive.auction.model;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StateTest {
+  private static final int THREADS = 4;
+
+  @DisplayName("add should store entities by id across table growth")
+  @Test
+  public void addShouldStoreEntitiesAcrossGrowth() {
+    var state = new State<>(AuctionLot::getId);
+    var auctions = new ArrayList<AuctionLot>();
+    for (int i = 0; i < 1000; i++) {
+      var auction = new AuctionLot("owner" + i % 3, "FB", 100, toTicks(10.0));
+      auction.setId(state.nextId());
+      state.add(auction);
+      auctions.add(auction);
+    }
+
+    assertThat(state.size(), equalTo(1000));
+    assertThat(state.lastId(), equalTo(1000));
+    auctions.forEach(auction -> assertThat(state.get(auction.getId()), sameInstance(auction)));
+    assertThat(state.get(1001), nullValue());
+  }
+
+  @DisplayName("add should throw if the id is already taken")
+  @Test
+  public void addShouldThrowIfIdExists() {
+    var state = new State<>(AuctionLot::getId);
+    var auction = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+    auction.setId(1);
+    state.add(auction);
+
+    assertThrows(BusinessException.class, () -> state.add(auction));
+  }
+
+  @DisplayName("put should replace the entity stored under the same id")
+  @Test
+  public void putShouldReplaceEntity() {
+    var state = new State<>(AuctionLot::getId);
+    var opened = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+    opened.setId(7);
+    state.add(opened);
+    var closed = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+    closed.setId(7);
+    closed.setStatus(AuctionLot.Status.CLOSED);
+
+    state.put(closed);
+
+    assertThat(state.get(7), sameInstance(closed));
+    assertThat(state.size(), equalTo(1));
+  }
+
+  @DisplayName("index should return the ids of each key in insertion order")
+  @Test
+  public void indexShouldReturnIdsByKey() {
+    var state = new State<>(AuctionLot::getId);
+    var byOwner = state.index(AuctionLot::getOwner);
+    IntStream.rangeClosed(1, 10).forEach(id -> {
+      var auction = new AuctionLot(id % 2 == 0 ? "even" : "odd", "FB", 100, toTicks(10.0));
+      auction.setId(id);
+      state.add(auction);
+    });
+
+    assertThat(byOwner.get("even"), equalTo(new int[] {2, 4, 6, 8, 10}));
+    assertThat(byOwner.get("odd"), equalTo(new int[] {1, 3, 5, 7, 9}));
+    assertThat(byOwner.get("none"), equalTo(new int[0]));
+  }
+
+  @DisplayName("get should find every entity added so far while other threads add")
+  @Test
+  public void getShouldSeeEntitiesAddedConcurrently() throws Exception {
+    var state = new State<>(AuctionLot::getId);
+    var byOwner = state.index(AuctionLot::getOwner);
+    var perThread = 20_000;
+    var done = new AtomicBoolean();
+    var start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    try {
+      var writers = IntStream.range(0, THREADS)
+          .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+            await(start);
+            for (int i = 0; i < perThread; i++) {
+              var auction = new AuctionLot("owner", "FB", 100, toTicks(10.0));
+              auction.setId(state.nextId());
+              state.add(auction);
+            }
+          }, executor))
+          .toArray(CompletableFuture[]::new);
+      start.countDown();
+      var reader = CompletableFuture.runAsync(() -> {
+        while (!done.get()) {
+          var ids = byOwner.get("owner");
+          for (int id : ids) {
+            if (state.get(id) == null) {
+              throw new AssertionError("indexed auction " + id + " is missing");
+            }
+          }
+        }
+      }, executor);
+      CompletableFuture.allOf(writers).get(30, TimeUnit.SECONDS);
+      done.set(true);
+      reader.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(state.size(), equalTo(THREADS * perThread));
+    assertThat(byOwner.get("owner").length, equalTo(THREADS * perThread));
+    IntStream.rangeClosed(1, THREADS * perThread)
+        .forEach(id -> assertThat(state.get(id).getId(), equalTo(id)));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.weareadaptive.auction.repository.memory;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+import com.weareadaptive.auction.AuctionhouseWebApplication;
+import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidRequest;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.WinningBid;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import com.weareadaptive.auction.service.AuctionLotService;
+import com.weareadaptive.auction.service.UserService;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("in-memory")
+public class InMemoryProfileTest {
+  @LocalServerPort
+  private int port;
+  @Autowired
+  private TestData testData;
+  @Autowired
+  private AuctionLotService auctionLotService;
+  @Autowired
+  private UserService userService;
+  @Autowired
+  private AuctionRepository auctionRepository;
+
+  @DisplayName("the in-memory profile should replace the JPA repositories")
+  @Test
+  public void shouldUseInMemoryRepositories() {
+    assertThat(auctionRepository, instanceOf(InMemoryAuctionRepository.class));
+  }
+
+  @DisplayName("the in-memory profile should refuse the sql close engine at startup")
+  @Test
+  public void shouldRefuseSqlCloseEngine() {
+    var application = new SpringApplicationBuilder(AuctionhouseWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .profiles("in-memory");
+
+    var exception = assertThrows(IllegalStateException.class,
+        () -> application.run("--auction.close-engine=sql"));
+
+    assertThat(exception.getMessage(), containsString("auction.close-engine=sql"));
+  }
+
+  @DisplayName("an auction should take bids and close without a database")
+  @Test
+  public void auctionShouldTakeBidsAndClose() {
+    var auctionLot = auctionLotService.create(testData.user1().getUsername(), "FB", 10,
+        toTicks(20.00));
+
+    //@formatter:off
+    given()
+        .baseUri("http://localhost:" + port)
+        .header(AUTHORIZATION, testData.user2Token())
+        .pathParam("id", auctionLot.getId())
+        .contentType(ContentType.JSON)
+        .body(new BidRequest(6, toTicks(25.0)))
+    .when()
+        .post("/auctions/bids/{id}")
+    .then()
+        .statusCode(HttpStatus.CREATED.value());
+    //@formatter:on
+    auctionLotService.bid(auctionLot.getId(), testData.user3().getUsername(), 6, toTicks(30.0));
+
+    var closingSummary = auctionLotService.closeAuction(auctionLot.getId(), auctionLot.getOwner());
+
+    assertThat(closingSummary.totalSoldQuantity(), equalTo(10));
+    assertThat(closingSummary.winningBids().stream().map(WinningBid::quantity).toList(),
+        contains(6, 4));
+    assertThat(auctionLotService.getAuctionResponse(auctionLot.getId()).orElseThrow().status(),
+        equalTo(AuctionLot.Status.CLOSED));
+    assertThat(auctionLotService.getClosingSummary(auctionLot.getOwner(), auctionLot.getId()),
+        equalTo(closingSummary));
+    assertThrows(BusinessException.class,
+        () -> auctionLotService.closeAuction(auctionLot.getId(), auctionLot.getOwner()));
+  }
+
+  @DisplayName("getAuctions should page through an owner's auctions newest first")
+  @Test
+  public void getAuctionsShouldPageByOwner() {
+    var owner = testData.createRandomUser().getUsername();
+    var first = auctionLotService.create(owner, "FB", 10, toTicks(20.00));
+    var second = auctionLotService.create(owner, "AAPL", 10, toTicks(20.00));
+    var third = auctionLotService.create(owner, "FB", 10, toTicks(20.00));
+    var filter = new AuctionFilter(owner, null, null, null);
+
+    var page = auctionLotService.getAuctions(filter, null, 2);
+    var next = auctionLotService.getAuctions(filter, page.nextCursor(), 2);
+
+    assertThat(page.auctions().stream().map(AuctionResponse::id).toList(),
+        contains(third.getId(), second.getId()));
+    assertThat(next.auctions().stream().map(AuctionResponse::id).toList(),
+        contains(first.getId()));
+    assertThat(auctionLotService.getAuctions(new AuctionFilter(owner, "FB", null, null), null, 10)
+        .auctions().stream().map(AuctionResponse::id).toList(),
+        contains(third.getId(), first.getId()));
+  }
+
+  @DisplayName("create should reject a username that is already taken")
+  @Test
+  public void createUserShouldThrowIfUsernameExists() {
+    var username = testData.user1().getUsername();
+
+    assertThrows(BusinessException.class,
+        () -> userService.create(username, TestData.PASSWORD, "first", "last", "org"));
+  }
+}
@@ -0,0 +1,128 @@
+package com.weareadaptive.auction.repository.memory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalTest {
+  private static final int SEGMENT_SIZE = 256;
+
+  @TempDir
+  Path directory;
+
+  @DisplayName("replay should return the appended records after reopening")
+  @Test
+  public void replayShouldReturnRecordsAfterReopening() {
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      journal.append((byte) 1, payload("first"));
+      journal.append((byte) 2, payload("second"));
+    }
+
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      assertThat(replay(journal, 0), contains("1:first", "2:second"));
+    }
+  }
+
+  @DisplayName("replay should roll over segments and start from a position")
+  @Test
+  public void replayShouldRollOverSegments() {
+    long position;
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      for (int i = 0; i < 20; i++) {
+        journal.append((byte) 1, payload("record-" + i));
+      }
+      position = journal.append((byte) 1, payload("record-20"));
+      journal.append((byte) 1, payload("record-21"));
+    }
+
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      assertThat(replay(journal, 0).size(), equalTo(22));
+      assertThat(replay(journal, position), contains("1:record-21"));
+    }
+  }
+
+  @DisplayName("a torn record at the tail should be dropped and overwritten by new records")
+  @Test
+  public void tornTailShouldBeDropped() throws IOException {
+    long end;
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      journal.append((byte) 1, payload("kept"));
+      end = journal.append((byte) 1, payload("torn"));
+    }
+    try (var file = new RandomAccessFile(segment(0).toFile(), "rw")) {
+      file.seek(end - 2);
+      file.write(new byte[] {'x', 'x'});
+    }
+
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      assertThat(replay(journal, 0), contains("1:kept"));
+      journal.append((byte) 2, payload("new"));
+    }
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      assertThat(replay(journal, 0), contains("1:kept", "2:new"));
+    }
+  }
+
+  @DisplayName("deleteBefore should delete the segments a position covers")
+  @Test
+  public void deleteBeforeShouldDeleteCoveredSegments() throws IOException {
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      long position = 0;
+      while (position < SEGMENT_SIZE * 2) {
+        position = journal.append((byte) 1, payload("record"));
+      }
+
+      journal.deleteBefore(position);
+
+      assertThat(Files.exists(segment(0)), equalTo(false));
+      assertThat(Files.exists(segment(SEGMENT_SIZE)), equalTo(false));
+      assertThat(Files.exists(segment(SEGMENT_SIZE * 2)), equalTo(true));
+      assertThat(replay(journal, position).size(), equalTo(0));
+    }
+  }
+
+  @DisplayName("whenDurable should run once the appended records are flushed")
+  @Test
+  public void whenDurableShouldRunAfterFlush() throws Exception {
+    try (var journal = new Journal(directory, SEGMENT_SIZE)) {
+      var acknowledged = new CompletableFuture<Long>();
+      var position = journal.append((byte) 1, payload("record"));
+
+      journal.whenDurable(() -> acknowledged.complete(position));
+
+      assertThat(acknowledged.get(5, TimeUnit.SECONDS), equalTo(position));
+      journal.awaitDurable(position);
+    }
+  }
+
+  private Path segment(long base) {
+    return directory.resolve(String.format("%020d%s", base, Journal.SUFFIX));
+  }
+
+  private static byte[] payload(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static List<String> replay(Journal journal, long position) {
+    var records = new ArrayList<String>();
+    journal.replay(position, (type, payload) -> {
+      var bytes = new byte[payload.remaining()];
+      payload.get(bytes);
+      records.add(type + ":" + new String(bytes, StandardCharsets.UTF_8));
+    });
+    return records;
+  }
+}
@@ -0,0 +1,184 @@
+package com.weareadaptive.auction.repository.memory;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosedAuction;
+import com.weareadaptive.auction.model.User;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StateJournalTest {
+  private static final int SEGMENT_SIZE = 4096;
+
+  @TempDir
+  Path directory;
+
+  private InMemoryUserRepository userRepository;
+  private InMemoryAuctionRepository auctionRepository;
+  private InMemoryBidRepository bidRepository;
+  private InMemoryClosedAuctionRepository closedAuctionRepository;
+
+  @DisplayName("a restart should restore every store from the journal")
+  @Test
+  public void restartShouldRestoreFromJournal() {
+    start();
+    var closingTime = Instant.parse("2030-01-01T10:15:30.123Z");
+    userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+    var auction = auctionRepository.save(new AuctionLot("alice", "FB", 10,
+        toTicks(20.0), closingTime));
+    var winner = bidRepository.save(new Bid(auction.getId(), "bob", 6, toTicks(25.0)));
+    bidRepository.save(new Bid(auction.getId(), "carol", 6, toTicks(21.0)));
+    auctionRepository.updateStatus(auction.getId(), AuctionLot.Status.OPENED,
+        AuctionLot.Status.CLOSED);
+    winner.win(6);
+    bidRepository.save(winner);
+    bidRepository.losePendingBids(auction.getId());
+    closedAuctionRepository.save(new ClosedAuction(auction.getId(), 6, toTicks(150.00),
+        closingTime, List.of(new ClosedAuction.Allocation(winner.getBidId(), 6))));
+    userRepository.block(userRepository.getByUsername("alice").orElseThrow().getId());
+    crash();
+
+    start();
+
+    var alice = userRepository.getByUsername("alice").orElseThrow();
+    assertThat(alice.isBlocked(), equalTo(true));
+    assertThat(alice.getPassword(), equalTo("password"));
+    var restored = auctionRepository.getById(auction.getId());
+    assertThat(restored.getStatus(), equalTo(AuctionLot.Status.CLOSED));
+    assertThat(restored.getClosingTime(), equalTo(closingTime));
+    assertThat(auctionRepository.getAllUserAuctions("alice").size(), equalTo(1));
+    assertThat(bidRepository.getAllAuctionBids(auction.getId()).stream()
+        .map(bid -> bid.getUser() + ":" + bid.getState() + ":" + bid.getWinQuantity())
+        .toList(), contains("bob:WIN:6", "carol:LOST:0"));
+    assertThat(bidRepository.getById(winner.getBidId() + 1).getPrice(), equalTo(toTicks(21.0)));
+    var closedAuction = closedAuctionRepository.getClosedAuction(auction.getId()).orElseThrow();
+    assertThat(closedAuction.getTotalRevenue(), equalTo(toTicks(150.00)));
+    assertThat(closedAuction.getAllocations().get(0).getBidId(), equalTo(winner.getBidId()));
+    assertThat(auctionRepository.save(new AuctionLot("alice", "AAPL", 1, toTicks(1.0))).getId(),
+        equalTo(auction.getId() + 1));
+  }
+
+  @DisplayName("a restart should load the snapshot and replay only the journal after it")
+  @Test
+  public void restartShouldReplayTailAfterSnapshot() throws IOException {
+    var journal = start();
+    for (int i = 0; i < 100; i++) {
+      auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    }
+    journal.snapshot();
+    auctionRepository.save(new AuctionLot("owner", "AAPL", 10, toTicks(20.0)));
+    crash();
+
+    start();
+
+    assertThat(auctionRepository.count(), equalTo(101L));
+    assertThat(auctionRepository.getById(101).getSymbol(), equalTo("AAPL"));
+    assertThat(auctionRepository.getAllUserAuctions("owner").get(0).getId(), equalTo(1));
+    try (var files = Files.list(directory)) {
+      assertThat(files.filter(file -> file.toString().endsWith(Journal.SUFFIX)).count(),
+          equalTo(1L));
+    }
+  }
+
+  @DisplayName("a restart should keep the versions of users and auctions")
+  @Test
+  public void restartShouldRestoreVersions() {
+    final var journal = start();
+    var user = userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+    userRepository.block(user.getId());
+    userRepository.update(user.getId(), "Alice", "Jones", "Adaptive");
+    var auction = auctionRepository.save(new AuctionLot("alice", "FB", 10, toTicks(20.0)));
+    auctionRepository.updateVersion(auction.getId(), 0);
+    journal.snapshot();
+    auctionRepository.updateStatus(auction.getId(), AuctionLot.Status.OPENED,
+        AuctionLot.Status.CLOSED);
+    crash();
+
+    start();
+
+    assertThat(userRepository.getById(user.getId()).getVersion(), equalTo(2L));
+    assertThat(auctionRepository.getById(auction.getId()).getVersion(), equalTo(2L));
+    assertThat(auctionRepository.updateVersion(auction.getId(), 1), equalTo(0));
+    assertThat(auctionRepository.updateVersion(auction.getId(), 2), equalTo(1));
+  }
+
+  @DisplayName("a corrupt snapshot should be ignored in favour of the journal")
+  @Test
+  public void corruptSnapshotShouldBeIgnored() throws IOException {
+    var journal = start();
+    auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    journal.close();
+    try (var files = Files.list(directory)) {
+      var snapshot = files.filter(file -> file.toString().endsWith(".snapshot"))
+          .findFirst()
+          .orElseThrow();
+      var bytes = Files.readAllBytes(snapshot);
+      bytes[bytes.length / 2] ^= 1;
+      Files.write(snapshot, bytes);
+    }
+
+    start();
+
+    assertThat(auctionRepository.count(), equalTo(1L));
+  }
+
+  @DisplayName("a restart should refuse a journal written in another format")
+  @Test
+  public void restartShouldRefuseJournalInAnotherFormat() throws IOException {
+    start();
+    auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    crash();
+    Files.writeString(directory.resolve("format"), "1\n");
+
+    var exception = assertThrows(IllegalStateException.class, this::start);
+
+    assertThat(exception.getMessage(), containsString("written in format 1"));
+  }
+
+  @DisplayName("a restart should refuse a journal written before its format was recorded")
+  @Test
+  public void restartShouldRefuseUnversionedJournal() throws IOException {
+    start();
+    auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    crash();
+    Files.delete(directory.resolve("format"));
+
+    var exception = assertThrows(IllegalStateException.class, this::start);
+
+    assertThat(exception.getMessage(), containsString("predates format"));
+  }
+
+  private StateJournal start() {
+    userRepository = new InMemoryUserRepository();
+    auctionRepository = new InMemoryAuctionRepository();
+    bidRepository = new InMemoryBidRepository();
+    closedAuctionRepository = new InMemoryClosedAuctionRepository();
+    return new StateJournal(userRepository, auctionRepository, bidRepository,
+        closedAuctionRepository, directory, SEGMENT_SIZE, Duration.ofHours(1));
+  }
+
+  /**
+   * Stops writing without the final snapshot, as if the process had died once the last write was
+   * acknowledged.
+   */
+  private void crash() {
+    userRepository.getState().setWriteListener(user -> { });
+    auctionRepository.getState().setWriteListener(auction -> { });
+    bidRepository.getState().setWriteListener(bid -> { });
+    closedAuctionRepository.getState().setWriteListener(closedAuction -> { });
+  }
+}
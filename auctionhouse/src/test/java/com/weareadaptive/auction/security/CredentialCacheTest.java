@@ -0,0 +1,64 @@
+package com.weareadaptive.auction.security;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.security.CredentialCache.Credential;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CredentialCacheTest {
+  private static final String TOKEN = "USER:userpassword";
+
+  private final CredentialCache credentialCache = new CredentialCache(100, Duration.ofMinutes(5));
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @DisplayName("get should only load a token once while it is cached")
+  @Test
+  public void getShouldLoadTokenOnce() {
+    credentialCache.get(TOKEN, this::load);
+    credentialCache.get(TOKEN, this::load);
+
+    assertThat(loads.get(), equalTo(1));
+    assertThat(credentialCache.stats().hitCount(), equalTo(1L));
+    assertThat(credentialCache.stats().missCount(), equalTo(1L));
+  }
+
+  @DisplayName("invalidateUser should force the next lookup to reload the credential")
+  @Test
+  public void invalidateUserShouldEvictTokensOfUser() {
+    credentialCache.get(TOKEN, this::load);
+
+    credentialCache.invalidateUser(7);
+    credentialCache.get(TOKEN, this::load);
+
+    assertThat(loads.get(), equalTo(2));
+  }
+
+  @DisplayName("a load that raced with invalidateUser should not be served from the cache")
+  @Test
+  public void loadRacingInvalidateUserShouldBeReloaded() {
+    var blocked = new AtomicBoolean();
+    var credential = credentialCache.get(TOKEN, token -> {
+      loads.incrementAndGet();
+      var loaded = new Credential(7, "USER", false, blocked.get());
+      if (blocked.compareAndSet(false, true)) {
+        credentialCache.invalidateUser(7);
+      }
+      return loaded;
+    });
+
+    assertThat(loads.get(), equalTo(2));
+    assertThat(credential.blocked(), equalTo(true));
+    assertThat(credentialCache.get(TOKEN, this::load).blocked(), equalTo(true));
+    assertThat(loads.get(), equalTo(2));
+  }
+
+  private Credential load(String token) {
+    loads.incrementAndGet();
+    return new Credential(7, "USER", false, false);
+  }
+}
@@ -0,0 +1,60 @@
+package com.weareadaptive.auction.service;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.repository.memory.InMemoryAuctionRepository;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuctionCacheTest {
+  private final InMemoryAuctionRepository auctionRepository = new InMemoryAuctionRepository();
+
+  @DisplayName("get should only read an auction once while it is cached")
+  @Test
+  public void getShouldLoadAuctionOnce() {
+    var auctionCache = new AuctionCache(auctionRepository, 100, Duration.ofMinutes(5));
+    var auctionLot = auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+
+    auctionCache.get(auctionLot.getId());
+    var auction = auctionCache.get(auctionLot.getId()).orElseThrow();
+
+    assertThat(auction.owner(), equalTo("owner"));
+    assertThat(auctionCache.stats().hitCount(), equalTo(1L));
+    assertThat(auctionCache.stats().missCount(), equalTo(1L));
+    assertThat(auctionCache.get(auctionLot.getId() + 1).isEmpty(), equalTo(true));
+  }
+
+  @DisplayName("closed should update the cached auction without reading it again")
+  @Test
+  public void closedShouldUpdateCachedStatus() {
+    var auctionCache = new AuctionCache(auctionRepository, 100, Duration.ofMinutes(5));
+    var auctionLot = auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    auctionCache.get(auctionLot.getId());
+
+    auctionCache.closed(auctionLot.getId());
+
+    assertThat(auctionCache.get(auctionLot.getId()).orElseThrow().status(),
+        equalTo(AuctionLot.Status.CLOSED));
+    assertThat(auctionCache.stats().missCount(), equalTo(1L));
+  }
+
+  @DisplayName("open auctions should expire so that closes made elsewhere are seen")
+  @Test
+  public void openAuctionsShouldExpire() {
+    var auctionCache = new AuctionCache(auctionRepository, 100, Duration.ZERO);
+    var auctionLot = auctionRepository.save(new AuctionLot("owner", "FB", 10, toTicks(20.0)));
+    auctionCache.get(auctionLot.getId());
+    auctionRepository.updateStatus(auctionLot.getId(), AuctionLot.Status.OPENED,
+        AuctionLot.Status.CLOSED);
+
+    assertThat(auctionCache.get(auctionLot.getId()).orElseThrow().status(),
+        equalTo(AuctionLot.Status.CLOSED));
+    auctionCache.get(auctionLot.getId());
+
+    assertThat(auctionCache.stats().loadCount(), equalTo(2L));
+  }
+}
@@ -0,0 +1,184 @@
+package com.weareadaptive.auction.service;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuctionEventStreamTest {
+  private static final int AUCTION_ID = 1;
+  private final AuctionEventStream eventStream =
+      new AuctionEventStream(2, 1, 16, Duration.ofSeconds(5));
+
+  @AfterEach
+  public void shutdown() {
+    eventStream.shutdown();
+  }
+
+  @DisplayName("publish should deliver events in order and complete the stream on close")
+  @Test
+  public void publishShouldDeliverEventsAndCompleteOnClose() throws InterruptedException {
+    var subscriber = new RecordingSubscriber();
+    eventStream.subscribe(AUCTION_ID, subscriber);
+    var bid = bidAccepted(10);
+    var closed = new AuctionEvent.AuctionClosed(AUCTION_ID,
+        new ClosingSummary(List.of(), 0, 0, Instant.now()));
+
+    eventStream.publish(bid);
+    eventStream.publish(closed);
+
+    assertThat(subscriber.completed.await(5, TimeUnit.SECONDS), equalTo(true));
+    assertThat(subscriber.events, contains(bid, closed));
+    assertThat(eventStream.subscriberCount(AUCTION_ID), equalTo(0));
+  }
+
+  @DisplayName("publish should drop the oldest buffered events for a slow subscriber")
+  @Test
+  public void publishShouldDropOldestEventsForSlowSubscriber() throws InterruptedException {
+    var release = new CountDownLatch(1);
+    var subscriber = new RecordingSubscriber(release);
+    final var subscription = eventStream.subscribe(AUCTION_ID, subscriber);
+    var first = bidAccepted(1);
+
+    eventStream.publish(first);
+    subscriber.receiving.await(5, TimeUnit.SECONDS);
+    var later = List.of(bidAccepted(2), bidAccepted(3), bidAccepted(4), bidAccepted(5));
+    later.forEach(eventStream::publish);
+    release.countDown();
+
+    waitFor(() -> subscriber.events.size() == 3);
+    assertThat(subscriber.events, contains(first, later.get(2), later.get(3)));
+    assertThat(subscription.dropped(), equalTo(2L));
+  }
+
+  @DisplayName("cancel should stop delivering events to the subscriber")
+  @Test
+  public void cancelShouldStopDelivery() throws InterruptedException {
+    var subscriber = new RecordingSubscriber();
+    var subscription = eventStream.subscribe(AUCTION_ID, subscriber);
+
+    subscription.cancel();
+    eventStream.publish(bidAccepted(1));
+
+    Thread.sleep(100);
+    assertThat(subscriber.events.size(), equalTo(0));
+    assertThat(eventStream.subscriberCount(AUCTION_ID), equalTo(0));
+  }
+
+  @DisplayName("a subscriber blocked in a send should not stall others and should be evicted")
+  @Test
+  public void blockedSubscriberShouldNotStallOthersAndShouldBeEvicted()
+      throws InterruptedException {
+    var stream = new AuctionEventStream(2, 2, 16, Duration.ofMillis(200));
+    try {
+      var release = new CountDownLatch(1);
+      var blocked = new RecordingSubscriber(release);
+      final var blockedSubscription = stream.subscribe(AUCTION_ID, blocked);
+      var others = List.of(new RecordingSubscriber(), new RecordingSubscriber());
+      others.forEach(other -> stream.subscribe(AUCTION_ID, other));
+      var bid = bidAccepted(1);
+
+      stream.publish(bid);
+
+      waitFor(() -> others.stream().allMatch(other -> other.events.size() == 1));
+      assertThat(others.get(0).events, contains(bid));
+      assertThat(others.get(1).events, contains(bid));
+      waitFor(blockedSubscription::evicted);
+      assertThat(blockedSubscription.evicted(), equalTo(true));
+      assertThat(stream.subscriberCount(AUCTION_ID), equalTo(2));
+
+      release.countDown();
+      assertThat(blocked.completed.await(5, TimeUnit.SECONDS), equalTo(true));
+    } finally {
+      stream.shutdown();
+    }
+  }
+
+  @DisplayName("a subscriber whose drain finds the pool and its queue full should be evicted")
+  @Test
+  public void saturatedPoolShouldEvictSubscriber() throws InterruptedException {
+    var stream = new AuctionEventStream(2, 1, 1, Duration.ofSeconds(5));
+    try {
+      var release = new CountDownLatch(1);
+      var blocked = new RecordingSubscriber(release);
+      final var blockedSubscription = stream.subscribe(AUCTION_ID, blocked);
+      var queued = new RecordingSubscriber();
+      final var queuedSubscription = stream.subscribe(AUCTION_ID + 1, queued);
+      var rejected = new RecordingSubscriber();
+      final var rejectedSubscription = stream.subscribe(AUCTION_ID + 2, rejected);
+      var bid = bidAccepted(1);
+      var queuedBid = new AuctionEvent.BidAccepted(AUCTION_ID + 1, bid.bid());
+
+      stream.publish(bid);
+      blocked.receiving.await(5, TimeUnit.SECONDS);
+      stream.publish(queuedBid);
+      stream.publish(new AuctionEvent.BidAccepted(AUCTION_ID + 2, bid.bid()));
+
+      assertThat(rejected.completed.await(5, TimeUnit.SECONDS), equalTo(true));
+      assertThat(rejectedSubscription.evicted(), equalTo(true));
+      assertThat(rejected.events.size(), equalTo(0));
+      assertThat(stream.subscriberCount(AUCTION_ID + 2), equalTo(0));
+
+      release.countDown();
+      waitFor(() -> queued.events.size() == 1);
+      assertThat(blocked.events, contains(bid));
+      assertThat(queued.events, contains(queuedBid));
+      assertThat(blockedSubscription.evicted(), equalTo(false));
+      assertThat(queuedSubscription.evicted(), equalTo(false));
+    } finally {
+      stream.shutdown();
+    }
+  }
+
+  private static AuctionEvent.BidAccepted bidAccepted(int quantity) {
+    return new AuctionEvent.BidAccepted(AUCTION_ID, new Bid(AUCTION_ID, "bidder", quantity,
+        toTicks(10.0)));
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static class RecordingSubscriber implements AuctionEventStream.Subscriber {
+    private final List<AuctionEvent> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch receiving = new CountDownLatch(1);
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch release;
+
+    RecordingSubscriber() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordingSubscriber(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void onEvent(AuctionEvent event) throws InterruptedException {
+      receiving.countDown();
+      release.await();
+      events.add(event);
+    }
+
+    @Override
+    public void onComplete() {
+      completed.countDown();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.weareadaptive.auction.model.BusinessException;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuctionSequencerTest {
+  private final AuctionSequencer sequencer = new AuctionSequencer(8, Optional.empty());
+
+  @AfterEach
+  public void shutdown() throws Exception {
+    sequencer.shutdown();
+  }
+
+  @DisplayName("submit should apply commands one at a time in submission order")
+  @Test
+  public void submitShouldApplyCommandsInOrder() {
+    var applied = new ArrayList<Integer>();
+    var futures = IntStream.range(0, 100)
+        .mapToObj(i -> sequencer.submit(() -> applied.add(i)))
+        .toArray(CompletableFuture[]::new);
+
+    CompletableFuture.allOf(futures).join();
+
+    assertThat(applied, contains(IntStream.range(0, 100).boxed().toArray()));
+  }
+
+  @DisplayName("await should rethrow the exception raised by the command")
+  @Test
+  public void awaitShouldRethrowCommandException() {
+    CompletableFuture<Object> future = sequencer.submit(() -> {
+      throw new BusinessException("rejected");
+    });
+
+    var exception = assertThrows(BusinessException.class, () -> AuctionSequencer.await(future));
+    assertThat(exception.getMessage(), equalTo("rejected"));
+  }
+
+  @DisplayName("submit should run nested commands inline on the sequencer thread")
+  @Test
+  public void submitShouldRunNestedCommandsInline() {
+    var result = sequencer.submit(() -> AuctionSequencer.await(sequencer.submit(() -> 42)));
+
+    assertThat(AuctionSequencer.await(result), equalTo(42));
+  }
+}
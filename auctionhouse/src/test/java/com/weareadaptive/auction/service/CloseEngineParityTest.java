@@ -0,0 +1,127 @@
+package com.weareadaptive.auction.service;
+
+import static com.weareadaptive.auction.model.Price.toTicks;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.repository.BidAllocationRepository;
+import com.weareadaptive.auction.repository.BidRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+public class CloseEngineParityTest extends IntegrationTest {
+  private static final int BID_COUNT = 300;
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2").withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private AuctionLotService auctionLotService;
+  @Autowired
+  private OrderBookService orderBookService;
+  @Autowired
+  private BidRepository bidRepository;
+  @Autowired
+  private BidAllocationRepository bidAllocationRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgreSQL::getJdbcUrl);
+    registry.add("spring.datasource.username", postgreSQL::getUsername);
+    registry.add("spring.datasource.password", postgreSQL::getPassword);
+  }
+
+  @DisplayName("sql close engine should allocate like the java engine when oversubscribed")
+  @Test
+  public void sqlEngineShouldMatchJavaEngineWhenOversubscribed() {
+    assertSameAllocation(2_000, 42);
+  }
+
+  @DisplayName("sql close engine should allocate like the java engine when undersubscribed")
+  @Test
+  public void sqlEngineShouldMatchJavaEngineWhenUndersubscribed() {
+    assertSameAllocation(1_000_000, 7);
+  }
+
+  @DisplayName("java close engine should allocate bids its order book has not seen")
+  @Test
+  public void javaEngineShouldAllocateBidsMissingFromOrderBook() {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", 10,
+        toTicks(1.0));
+    var seen = auctionLotService.bid(auctionLot.getId(), testData.user1().getUsername(), 10,
+        toTicks(2.0));
+    var unseen = bidRepository.save(new Bid(auctionLot.getId(), testData.user2().getUsername(),
+        10, toTicks(5.0)));
+
+    var summary = close(new JavaCloseEngine(bidRepository), auctionLot.getId(), Instant.now());
+
+    assertThat(winners(summary), equalTo(List.of(describe(unseen) + " won 10")));
+    assertThat(storedBids(auctionLot.getId()), equalTo(List.of(
+        describe(unseen) + " WIN 10", describe(seen) + " LOST 0")));
+  }
+
+  private void assertSameAllocation(int quantity, long seed) {
+    var javaAuctionId = createAuctionWithBids(quantity, new Random(seed));
+    var sqlAuctionId = createAuctionWithBids(quantity, new Random(seed));
+    var closingTime = Instant.now();
+
+    var javaSummary = close(new JavaCloseEngine(bidRepository), javaAuctionId, closingTime);
+    var sqlSummary = close(new SqlCloseEngine(bidAllocationRepository), sqlAuctionId, closingTime);
+
+    assertThat(javaSummary.winningBids(), not(List.of()));
+    assertThat(sqlSummary.totalSoldQuantity(), equalTo(javaSummary.totalSoldQuantity()));
+    assertThat(sqlSummary.totalRevenue(), equalTo(javaSummary.totalRevenue()));
+    assertThat(winners(sqlSummary), equalTo(winners(javaSummary)));
+    assertThat(storedBids(sqlAuctionId), equalTo(storedBids(javaAuctionId)));
+  }
+
+  private int createAuctionWithBids(int quantity, Random random) {
+    var auctionLot = auctionLotService.create(testData.user4().getUsername(), "FB", quantity,
+        toTicks(1.0));
+    var bidders = List.of(testData.user1(), testData.user2(), testData.user3());
+    for (int i = 0; i < BID_COUNT; i++) {
+      auctionLotService.bid(auctionLot.getId(),
+          bidders.get(random.nextInt(bidders.size())).getUsername(),
+          1 + random.nextInt(20),
+          toTicks(2 + random.nextInt(40) * 0.25));
+    }
+    return auctionLot.getId();
+  }
+
+  private ClosingSummary close(CloseEngine closeEngine, int auctionId, Instant closingTime) {
+    var orderBook = orderBookService.get(auctionId).orElseThrow();
+    return transactionTemplate.execute(status -> closeEngine.close(orderBook, closingTime));
+  }
+
+  private static List<String> winners(ClosingSummary closingSummary) {
+    return closingSummary.winningBids().stream()
+        .map(winningBid -> describe(winningBid.originalBid()) + " won " + winningBid.quantity())
+        .toList();
+  }
+
+  private List<String> storedBids(int auctionId) {
+    return bidRepository.getAllAuctionBids(auctionId).stream()
+        .map(bid -> describe(bid) + " " + bid.getState() + " " + bid.getWinQuantity())
+        .toList();
+  }
+
+  private static String describe(Bid bid) {
+    return bid.getUser() + " " + bid.getQuantity() + "@" + bid.getPrice();
+  }
+}
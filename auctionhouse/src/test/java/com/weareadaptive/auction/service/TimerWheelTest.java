@@ -0,0 +1,60 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TimerWheelTest {
+  private static final Instant START = Instant.parse("2022-03-01T09:00:00Z");
+  private final TimerWheel timerWheel = new TimerWheel(Duration.ofSeconds(1), 8, START);
+
+  @DisplayName("advance should only return deadlines that have been reached")
+  @Test
+  public void advanceShouldReturnReachedDeadlines() {
+    timerWheel.schedule(1, START.plusMillis(2500));
+    timerWheel.schedule(2, START.plusSeconds(3));
+    timerWheel.schedule(3, START.plusSeconds(4));
+
+    assertThat(timerWheel.advance(START.plusSeconds(2)), empty());
+    assertThat(timerWheel.advance(START.plusSeconds(3)), containsInAnyOrder(1, 2));
+    assertThat(timerWheel.size(), equalTo(1));
+  }
+
+  @DisplayName("advance should keep deadlines beyond one rotation of the wheel")
+  @Test
+  public void advanceShouldKeepDeadlinesBeyondOneRotation() {
+    timerWheel.schedule(1, START.plusSeconds(1));
+    timerWheel.schedule(2, START.plusSeconds(9));
+
+    assertThat(timerWheel.advance(START.plusSeconds(1)), contains(1));
+    assertThat(timerWheel.advance(START.plusSeconds(8)), empty());
+    assertThat(timerWheel.advance(START.plusSeconds(9)), contains(2));
+  }
+
+  @DisplayName("advance should return every missed deadline when the clock jumps")
+  @Test
+  public void advanceShouldReturnMissedDeadlines() {
+    timerWheel.schedule(1, START.plusSeconds(3));
+    timerWheel.schedule(2, START.plusSeconds(20));
+    timerWheel.schedule(3, START.plusSeconds(60));
+
+    assertThat(timerWheel.advance(START.plusSeconds(30)), containsInAnyOrder(1, 2));
+    assertThat(timerWheel.size(), equalTo(1));
+  }
+
+  @DisplayName("schedule should fire past deadlines on the next advance")
+  @Test
+  public void scheduleShouldFirePastDeadlinesOnNextAdvance() {
+    timerWheel.advance(START.plusSeconds(5));
+    timerWheel.schedule(1, START.minusSeconds(10));
+
+    assertThat(timerWheel.advance(START.plusSeconds(6)), contains(1));
+  }
+}
@@ -0,0 +1,114 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.repository.memory.InMemoryUserRepository;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UserSummaryCacheTest {
+  private final BlockingUserRepository userRepository = new BlockingUserRepository();
+  private final UserSummaryCache userSummaryCache =
+      new UserSummaryCache(userRepository, 100, Duration.ofMinutes(5));
+
+  @DisplayName("get should only read a user once while it is cached")
+  @Test
+  public void getShouldLoadUserOnce() {
+    var user = userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+
+    userSummaryCache.get("alice");
+    var summary = userSummaryCache.get("alice").orElseThrow();
+
+    assertThat(summary.id(), equalTo(user.getId()));
+    assertThat(summary.organisation(), equalTo("Adaptive"));
+    assertThat(userSummaryCache.stats().missCount(), equalTo(1L));
+    assertThat(userSummaryCache.get("bob").isEmpty(), equalTo(true));
+  }
+
+  @DisplayName("onUserChanged should make the next lookup read the user again")
+  @Test
+  public void onUserChangedShouldEvictUser() {
+    var user = userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+    userSummaryCache.get("alice");
+    userRepository.block(user.getId());
+
+    userSummaryCache.onUserChanged(new UserChangedEvent(user.getId(), "alice"));
+
+    assertThat(userSummaryCache.get("alice").orElseThrow().blocked(), equalTo(true));
+  }
+
+  @DisplayName("put should serve the user without reading it")
+  @Test
+  public void putShouldServeUserWithoutLoad() {
+    var user = userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+
+    userSummaryCache.put(user, userSummaryCache.epoch());
+
+    assertThat(userSummaryCache.get("alice").orElseThrow().admin(), equalTo(false));
+    assertThat(userSummaryCache.stats().missCount(), equalTo(0L));
+  }
+
+  @DisplayName("a user blocked while its summary is loading should be read again")
+  @Test
+  public void blockDuringLoadShouldNotCacheOldSummary() throws Exception {
+    var user = userRepository.save(new User("alice", "password", "Alice", "Smith", "Adaptive"));
+    userRepository.blockLoads();
+    final var load = CompletableFuture.supplyAsync(() -> userSummaryCache.get("alice"));
+    assertThat(userRepository.loading.await(5, TimeUnit.SECONDS), equalTo(true));
+
+    userRepository.block(user.getId());
+    var invalidation = new Thread(
+        () -> userSummaryCache.onUserChanged(new UserChangedEvent(user.getId(), "alice")));
+    invalidation.start();
+    waitUntilParkedOrDone(invalidation);
+    userRepository.release.countDown();
+    invalidation.join(5_000);
+
+    assertThat(load.get(5, TimeUnit.SECONDS).orElseThrow().blocked(), equalTo(true));
+    assertThat(userSummaryCache.get("alice").orElseThrow().blocked(), equalTo(true));
+  }
+
+  /**
+   * The invalidation either waits for the load of the same key or returns straight away,
+   * depending on the cache, so the load is released once it has done one or the other.
+   */
+  private static void waitUntilParkedOrDone(Thread thread) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while ((thread.getState() == Thread.State.NEW || thread.getState() == Thread.State.RUNNABLE)
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static class BlockingUserRepository extends InMemoryUserRepository {
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blocking;
+
+    void blockLoads() {
+      blocking = true;
+    }
+
+    @Override
+    public Optional<User> getByUsername(String username) {
+      var user = super.getByUsername(username);
+      if (blocking) {
+        blocking = false;
+        loading.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return user;
+    }
+  }
+}
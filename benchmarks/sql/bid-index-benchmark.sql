@@ -0,0 +1,51 @@
+-- Scan vs index latency for the bid and auction access paths at 10M bids.
+-- Run against a database migrated by Flyway; everything happens in one
+-- transaction that is rolled back at the end:
+--   psql -d auction -f benchmarks/sql/bid-index-benchmark.sql
+
+BEGIN;
+
+INSERT INTO auction_user (id, username, password, first_name, last_name, organisation, blocked,
+                          is_admin)
+SELECT g, 'bench' || g, 'password', 'first', 'last', 'org', FALSE, FALSE
+FROM generate_series(1000001, 1001000) g;
+
+INSERT INTO auction (id, owner, min_price, quantity, status, symbol)
+SELECT g, 'bench' || (1000001 + g % 1000), 10000, 1000, 'OPENED', 'SYM' || g % 100
+FROM generate_series(1000001, 1010000) g;
+
+INSERT INTO bids (bid_id, id, owner, price, quantity, state, win_quantity)
+SELECT g,
+       1000001 + g % 10000,
+       'bench' || (1000001 + (g * 7) % 1000),
+       (round((1 + random() * 100)::numeric, 2) * 10000)::bigint,
+       1 + (random() * 100)::int,
+       'PENDING',
+       0
+FROM generate_series(1000001, 11000000) g;
+
+ANALYZE auction_user;
+ANALYZE auction;
+ANALYZE bids;
+
+-- Indexed: order book load / close ordering, owner auctions, bids by owner
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bids WHERE id = 1005000 ORDER BY price DESC, quantity DESC, bid_id;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM auction WHERE owner = 'bench1000500';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bids WHERE owner = 'bench1000500';
+
+DROP INDEX bids_auction_priority_idx;
+DROP INDEX bids_owner_idx;
+DROP INDEX auction_owner_idx;
+
+-- Sequential scans: the same queries without the V3 indexes
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bids WHERE id = 1005000 ORDER BY price DESC, quantity DESC, bid_id;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM auction WHERE owner = 'bench1000500';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bids WHERE owner = 'bench1000500';
+
+ROLLBACK;
@@ -0,0 +1,124 @@
+package com.weareadaptive.auction.benchmarks;
+
+import static com.weareadaptive.auction.benchmarks.Stubs.stub;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import com.weareadaptive.auction.repository.BidRepository;
+import com.weareadaptive.auction.repository.ClosedAuctionRepository;
+import com.weareadaptive.auction.repository.UserRepository;
+import com.weareadaptive.auction.service.AuctionCache;
+import com.weareadaptive.auction.service.AuctionEventStream;
+import com.weareadaptive.auction.service.AuctionLotService;
+import com.weareadaptive.auction.service.AuctionSequencer;
+import com.weareadaptive.auction.service.ClosingSummaryService;
+import com.weareadaptive.auction.service.JavaCloseEngine;
+import com.weareadaptive.auction.service.OrderBookService;
+import com.weareadaptive.auction.service.UserService;
+import com.weareadaptive.auction.service.UserSummaryCache;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures {@link AuctionLotService#bid} with the repositories stubbed out, so the numbers cover
+ * the sequencer hand-off, validation and order book insertion but not the database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BidValidationBenchmark {
+  private static final String OWNER = "owner";
+  private static final String BIDDER = "bidder";
+
+  private AuctionSequencer sequencer;
+  private AuctionEventStream eventStream;
+  private AuctionLotService auctionLotService;
+  private int auctionId;
+  private int bidId;
+  private int tick;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    AuctionRepository auctionRepository =
+        stub(AuctionRepository.class, Map.of("updateVersion", args -> 1));
+    BidRepository bidRepository = stub(BidRepository.class, Map.of("save", args -> {
+      var bid = (Bid) args[0];
+      bid.setBidId(++bidId);
+      return bid;
+    }));
+    var bidder = new User(BIDDER, "password", "first", "last", "organisation");
+    UserRepository userRepository =
+        stub(UserRepository.class, Map.of("getByUsername", args -> Optional.of(bidder)));
+
+    var auctionCache = new AuctionCache(auctionRepository, 1_000, Duration.ofSeconds(5));
+    var orderBookService = new OrderBookService(auctionRepository, bidRepository, auctionCache);
+    var auctionLot = new AuctionLot(OWNER, "FB", 1_000, Price.toTicks(10.0));
+    auctionId = auctionLot.getId();
+    orderBookService.open(auctionLot);
+
+    sequencer = new AuctionSequencer(1024, Optional.empty());
+    eventStream = new AuctionEventStream(256, 1, 1024, Duration.ofSeconds(5));
+    auctionLotService = new AuctionLotService(
+        auctionRepository,
+        bidRepository,
+        new UserService(userRepository,
+            new UserSummaryCache(userRepository, 1_000, Duration.ofMinutes(5)), event -> { }),
+        orderBookService,
+        auctionCache,
+        new ClosingSummaryService(stub(ClosedAuctionRepository.class, Map.of()), bidRepository,
+            1),
+        new JavaCloseEngine(bidRepository),
+        sequencer,
+        new TransactionTemplate(stub(PlatformTransactionManager.class, Map.of())),
+        event -> { },
+        eventStream,
+        500,
+        100,
+        1000,
+        3);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws Exception {
+    sequencer.shutdown();
+    eventStream.shutdown();
+  }
+
+  @Benchmark
+  public Bid acceptedBid() {
+    tick = (tick + 1) & 1023;
+    return auctionLotService.bid(auctionId, BIDDER, 10, Price.toTicks(11.0) + tick * 100L);
+  }
+
+  @Benchmark
+  public Object rejectedBid() {
+    try {
+      return auctionLotService.bid(auctionId, BIDDER, 10, Price.toTicks(5.0));
+    } catch (BusinessException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.weareadaptive.auction.benchmarks;
+
+import static com.weareadaptive.auction.benchmarks.Stubs.stub;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.OrderBook;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.repository.BidRepository;
+import com.weareadaptive.auction.service.JavaCloseEngine;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class CloseAllocationBenchmark {
+  private static final Instant CLOSING_TIME = Instant.parse("2022-03-01T17:00:00Z");
+
+  @Param({"1000", "100000", "1000000"})
+  private int bidCount;
+
+  private JavaCloseEngine closeEngine;
+  private AuctionLot auctionLot;
+  private int[] quantities;
+  private long[] prices;
+  private OrderBook orderBook;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    BidRepository bidRepository = stub(BidRepository.class, Map.of("saveAll", args -> args[0],
+        "countByState", args -> (long) bidCount));
+    closeEngine = new JavaCloseEngine(bidRepository);
+
+    var random = new SplittableRandom(42);
+    quantities = new int[bidCount];
+    prices = new long[bidCount];
+    for (int i = 0; i < bidCount; i++) {
+      quantities[i] = 1 + random.nextInt(100);
+      prices[i] = Price.toTicks(10.0) + random.nextInt(4_000) * 100L;
+    }
+    auctionLot = new AuctionLot("owner", "FB", bidCount * 25, Price.toTicks(10.0));
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpOrderBook() {
+    var bids = new ArrayList<Bid>(bidCount);
+    for (int i = 0; i < bidCount; i++) {
+      var bid = new Bid(auctionLot.getId(), "bidder" + (i % 1_000), quantities[i], prices[i]);
+      bid.setBidId(i + 1);
+      bids.add(bid);
+    }
+    orderBook = new OrderBook(auctionLot, bids);
+  }
+
+  @Benchmark
+  public ClosingSummary closeAuction() {
+    return closeEngine.close(orderBook, CLOSING_TIME);
+  }
+}
@@ -0,0 +1,38 @@
+package com.weareadaptive.auction.benchmarks;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.Price;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstructionBenchmark {
+  private String owner = "owner";
+  private String symbol = " fb ";
+  private int quantity = 100;
+  private long price = Price.toTicks(12.5);
+
+  @Benchmark
+  public AuctionLot newAuctionLot() {
+    return new AuctionLot(owner, symbol, quantity, price);
+  }
+
+  @Benchmark
+  public Bid newBid() {
+    return new Bid(1, owner, quantity, price);
+  }
+}
@@ -0,0 +1,77 @@
+package com.weareadaptive.auction.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weareadaptive.auction.controller.AuctionMapper;
+import com.weareadaptive.auction.controller.BidMapper;
+import com.weareadaptive.auction.controller.ClosingSummaryMapper;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.model.WinningBid;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Maps model objects to their REST responses and serializes them with an {@link ObjectMapper}
+ * built the same way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+  private static final int WINNING_BIDS = 100;
+
+  private ObjectMapper objectMapper;
+  private AuctionLot auctionLot;
+  private Bid bid;
+  private ClosingSummary closingSummary;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    auctionLot = new AuctionLot("owner", "FB", 1_000, Price.toTicks(10.0));
+    bid = new Bid(auctionLot.getId(), "bidder", 10, Price.toTicks(12.5));
+    bid.setBidId(1);
+
+    var winningBids = new ArrayList<WinningBid>(WINNING_BIDS);
+    for (int i = 0; i < WINNING_BIDS; i++) {
+      var winningBid = new Bid(auctionLot.getId(), "bidder" + i, 10, Price.toTicks(12.5 + i));
+      winningBid.setBidId(i + 1);
+      winningBids.add(new WinningBid(10, winningBid));
+    }
+    closingSummary = new ClosingSummary(winningBids, 1_000, Price.toTicks(17_450),
+        Instant.parse("2022-03-01T17:00:00Z"));
+  }
+
+  @Benchmark
+  public byte[] auctionResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(AuctionMapper.map(auctionLot));
+  }
+
+  @Benchmark
+  public byte[] bidResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(BidMapper.mapBid(bid));
+  }
+
+  @Benchmark
+  public byte[] closingSummaryResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(ClosingSummaryMapper.map(closingSummary, 1));
+  }
+}
@@ -0,0 +1,147 @@
+package com.weareadaptive.auction.benchmarks;
+
+import com.weareadaptive.auction.AuctionhouseWebApplication;
+import com.weareadaptive.auction.controller.AuctionMapper;
+import com.weareadaptive.auction.controller.BidMapper;
+import com.weareadaptive.auction.controller.UserMapper;
+import com.weareadaptive.auction.controller.dto.AuctionResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.UserResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.repository.AuctionFilter;
+import com.weareadaptive.auction.repository.AuctionRepository;
+import com.weareadaptive.auction.repository.BidRepository;
+import com.weareadaptive.auction.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares the read paths behind the GET endpoints: loading managed entities and mapping them
+ * to responses, against selecting straight into the response records. Runs against a real
+ * PostgreSQL database given by {@code -Dbench.jdbc.url}, {@code -Dbench.jdbc.username} and
+ * {@code -Dbench.jdbc.password}; the schema is migrated by Flyway and the seeded rows are
+ * deleted again on tear down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadProjectionBenchmark {
+  private static final int AUCTIONS = 100;
+  private static final int BIDS = 1_000;
+
+  private ConfigurableApplicationContext context;
+  private AuctionRepository auctionRepository;
+  private BidRepository bidRepository;
+  private UserRepository userRepository;
+  private JdbcTemplate jdbcTemplate;
+  private String owner;
+  private String bidder;
+  private int auctionId;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(AuctionhouseWebApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url="
+                + System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+            "spring.datasource.username=" + System.getProperty("bench.jdbc.username", "postgres"),
+            "spring.datasource.password=" + System.getProperty("bench.jdbc.password", "postgres"))
+        .run();
+    auctionRepository = context.getBean(AuctionRepository.class);
+    bidRepository = context.getBean(BidRepository.class);
+    userRepository = context.getBean(UserRepository.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+    var runId = Long.toString(System.currentTimeMillis(), 36);
+    owner = "bench" + runId + "owner";
+    bidder = "bench" + runId + "bidder";
+    userRepository.save(new User(owner, "password", "first", "last", "organisation"));
+    userRepository.save(new User(bidder, "password", "first", "last", "organisation"));
+
+    for (int i = 0; i < AUCTIONS; i++) {
+      var auction = auctionRepository.save(new AuctionLot(owner, "FB", 1_000, Price.toTicks(10.0)));
+      if (i == 0) {
+        auctionId = auction.getId();
+      }
+    }
+
+    var bids = new ArrayList<Bid>(BIDS);
+    for (int i = 0; i < BIDS; i++) {
+      bids.add(new Bid(auctionId, bidder, 1 + i % 50, Price.toTicks(10.0 + i % 100)));
+    }
+    bidRepository.saveAll(bids);
+  }
+
+  @TearDown
+  public void tearDown() {
+    jdbcTemplate.update("delete from bids where id in (select id from auction where owner = ?)",
+        owner);
+    jdbcTemplate.update("delete from auction where owner = ?", owner);
+    jdbcTemplate.update("delete from auction_user where username in (?, ?)", owner, bidder);
+    context.close();
+  }
+
+  @Benchmark
+  public AuctionResponse auctionEntity() {
+    return AuctionMapper.map(auctionRepository.findById(auctionId).orElseThrow());
+  }
+
+  @Benchmark
+  public AuctionResponse auctionProjection() {
+    return auctionRepository.getAuctionResponse(auctionId).orElseThrow();
+  }
+
+  @Benchmark
+  public List<AuctionResponse> ownerAuctionsEntity() {
+    return auctionRepository.getAllUserAuctions(owner).stream().map(AuctionMapper::map).toList();
+  }
+
+  @Benchmark
+  public List<AuctionResponse> ownerAuctionsProjection() {
+    return auctionRepository.search(new AuctionFilter(owner, null, null, null), null, AUCTIONS);
+  }
+
+  @Benchmark
+  public List<BidResponse> auctionBidsEntity() {
+    return bidRepository.getAllAuctionBids(auctionId).stream().map(BidMapper::mapBid).toList();
+  }
+
+  @Benchmark
+  public List<BidResponse> auctionBidsProjection() {
+    return bidRepository.getAuctionBids(auctionId, PageRequest.of(0, BIDS));
+  }
+
+  @Benchmark
+  public List<UserResponse> usersEntity() {
+    return userRepository.findAll().stream().map(UserMapper::map).toList();
+  }
+
+  @Benchmark
+  public List<UserResponse> usersProjection() {
+    return userRepository.getAllUserResponses();
+  }
+}
@@ -0,0 +1,70 @@
+package com.weareadaptive.auction.benchmarks;
+
+import com.weareadaptive.auction.model.Price;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sums the revenue of a close's winning bids the way {@code OrderBook.allocation} did with
+ * {@code double} prices, a {@link BigDecimal} per bid for the quantity, the price and their
+ * product, against the overflow-checked long arithmetic on price ticks it uses now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevenueBenchmark {
+  @Param({"1000", "100000"})
+  private int winnerCount;
+
+  private int[] quantities;
+  private double[] prices;
+  private long[] priceTicks;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var random = new SplittableRandom(42);
+    quantities = new int[winnerCount];
+    prices = new double[winnerCount];
+    priceTicks = new long[winnerCount];
+    for (int i = 0; i < winnerCount; i++) {
+      quantities[i] = 1 + random.nextInt(100);
+      priceTicks[i] = Price.toTicks(10.0) + random.nextInt(4_000) * 100L;
+      prices[i] = Price.toDecimal(priceTicks[i]).doubleValue();
+    }
+  }
+
+  @Benchmark
+  public BigDecimal bigDecimalRevenue() {
+    var revenue = BigDecimal.ZERO;
+    for (int i = 0; i < winnerCount; i++) {
+      revenue = revenue.add(
+          BigDecimal.valueOf(quantities[i]).multiply(BigDecimal.valueOf(prices[i])));
+    }
+    return revenue;
+  }
+
+  @Benchmark
+  public long tickRevenue() {
+    var revenue = 0L;
+    for (int i = 0; i < winnerCount; i++) {
+      revenue = Price.addRevenue(revenue, quantities[i], priceTicks[i]);
+    }
+    return revenue;
+  }
+}
@@ -0,0 +1,28 @@
+package com.weareadaptive.auction.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+final class Stubs {
+  private Stubs() {
+  }
+
+  static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (proxy, method, args) -> {
+          var answer = answers.get(method.getName());
+          if (answer != null) {
+            return answer.apply(args);
+          }
+          if (method.getReturnType() == Optional.class) {
+            return Optional.empty();
+          }
+          if (method.getName().equals("toString")) {
+            return "stub " + type.getSimpleName();
+          }
+          return null;
+        }));
+  }
+}